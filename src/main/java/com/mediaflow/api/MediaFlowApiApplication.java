@@ -2,8 +2,10 @@ package com.mediaflow.api;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 @SpringBootApplication
+@EnableScheduling
 public class MediaFlowApiApplication {
 	public static void main(String[] args) {
 		SpringApplication.run(MediaFlowApiApplication.class, args);
@@ -0,0 +1,68 @@
+package com.mediaflow.api.cache;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.function.Function;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.mediaflow.api.dto.CacheStatsResponse;
+import com.mediaflow.api.dto.ContentResponse;
+
+/**
+ * Caché read-through de ContentResponse por contentId, acotada por tamaño y TTL.
+ */
+@Component
+public class ContentResponseCache {
+
+    private final Cache<Integer, ContentResponse> cache;
+
+    public ContentResponseCache(
+            @Value("${content.cache.maximum-size:10000}") long maximumSize,
+            @Value("${content.cache.ttl:PT10M}") Duration ttl) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+    }
+
+    public ContentResponse get(Integer contentId, Function<Integer, ContentResponse> loader) {
+        return cache.get(contentId, loader);
+    }
+
+    /**
+     * Invalida la entrada ahora y otra vez al confirmar la transacción actual,
+     * para que una lectura concurrente no vuelva a cachear el estado anterior.
+     */
+    public void evict(Integer contentId) {
+        if (contentId == null) {
+            return;
+        }
+        cache.invalidate(contentId);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    cache.invalidate(contentId);
+                }
+            });
+        }
+    }
+
+    public void evictAll(Collection<Integer> contentIds) {
+        if (contentIds == null) {
+            return;
+        }
+        contentIds.forEach(this::evict);
+    }
+
+    public CacheStatsResponse stats() {
+        return CacheStatsResponse.from(cache.stats(), cache.estimatedSize());
+    }
+}
@@ -0,0 +1,105 @@
+package com.mediaflow.api.cache;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Function;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.graphql.execution.ErrorType;
+import org.springframework.stereotype.Component;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import graphql.ExecutionInput;
+import graphql.GraphqlErrorBuilder;
+import graphql.execution.preparsed.PreparsedDocumentEntry;
+import graphql.execution.preparsed.PreparsedDocumentProvider;
+
+/**
+ * Documentos GraphQL ya parseados y validados, indexados por el sha256 del texto de la consulta.
+ * La misma clave sirve para el protocolo de consultas persistidas automáticas (APQ): el cliente
+ * envía extensions.persistedQuery.sha256Hash sin query y, si el hash no está, reintenta con el
+ * texto completo, que queda registrado para las siguientes peticiones.
+ */
+@Component
+public class GraphQlDocumentCache implements PreparsedDocumentProvider {
+
+    static final String PERSISTED_QUERY_NOT_FOUND = "PersistedQueryNotFound";
+    static final String PERSISTED_QUERY_HASH_MISMATCH = "provided sha does not match query";
+
+    private final Cache<String, PreparsedDocumentEntry> cache;
+
+    public GraphQlDocumentCache(@Value("${graphql.document-cache.maximum-size:1000}") long maximumSize) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .build();
+    }
+
+    @Override
+    public CompletableFuture<PreparsedDocumentEntry> getDocumentAsync(ExecutionInput executionInput,
+            Function<ExecutionInput, PreparsedDocumentEntry> parseAndValidate) {
+        return CompletableFuture.completedFuture(getDocument(executionInput, parseAndValidate));
+    }
+
+    private PreparsedDocumentEntry getDocument(ExecutionInput executionInput,
+            Function<ExecutionInput, PreparsedDocumentEntry> parseAndValidate) {
+        String query = executionInput.getQuery();
+        String persistedHash = persistedQueryHash(executionInput.getExtensions());
+        boolean hasQuery = query != null && !query.isBlank();
+
+        if (!hasQuery) {
+            if (persistedHash == null) {
+                return parseAndValidate.apply(executionInput);
+            }
+            PreparsedDocumentEntry entry = cache.getIfPresent(persistedHash);
+            return entry != null ? entry : error(PERSISTED_QUERY_NOT_FOUND, "PERSISTED_QUERY_NOT_FOUND");
+        }
+
+        String hash = sha256(query);
+        if (persistedHash != null && !persistedHash.equalsIgnoreCase(hash)) {
+            return error(PERSISTED_QUERY_HASH_MISMATCH, "PERSISTED_QUERY_HASH_MISMATCH");
+        }
+        PreparsedDocumentEntry entry = cache.getIfPresent(hash);
+        if (entry == null) {
+            entry = parseAndValidate.apply(executionInput);
+            // Los documentos inválidos no se guardan: no ocupan lugar de consultas reales
+            if (!entry.hasErrors()) {
+                cache.put(hash, entry);
+            }
+        }
+        return entry;
+    }
+
+    public long size() {
+        return cache.estimatedSize();
+    }
+
+    private static String persistedQueryHash(Map<String, Object> extensions) {
+        if (extensions == null || !(extensions.get("persistedQuery") instanceof Map<?, ?> persistedQuery)) {
+            return null;
+        }
+        return persistedQuery.get("sha256Hash") instanceof String hash && !hash.isBlank() ? hash : null;
+    }
+
+    private static PreparsedDocumentEntry error(String message, String code) {
+        return new PreparsedDocumentEntry(GraphqlErrorBuilder.newError()
+                .message(message)
+                .errorType(ErrorType.BAD_REQUEST)
+                .extensions(Map.of("code", code))
+                .build());
+    }
+
+    static String sha256(String query) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(query.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException ex) {
+            throw new IllegalStateException(ex);
+        }
+    }
+}
@@ -0,0 +1,255 @@
+package com.mediaflow.api.cache;
+
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mediaflow.api.dto.PlayListResponse;
+
+/**
+ * Instantánea en memoria del feed de playlists públicas (más nuevas primero), con las páginas
+ * ya serializadas a JSON. Se actualiza playlist por playlist; leer una página no toca la base.
+ * <p>
+ * La reconstrucción completa la hace un solo hilo (beginRebuild); mientras tanto los demás
+ * siguen leyendo la instantánea vencida, y los cambios que llegan se aplican sobre la carga nueva.
+ */
+@Component
+public class PublicPlaylistFeed {
+
+    private final ObjectMapper objectMapper;
+    private final Set<Integer> cachedPageSizes;
+    private final Duration ttl;
+    private final Duration loadWait;
+
+    private volatile Snapshot snapshot;
+
+    // Reconstrucción en curso (null si no hay) y cambios recibidos durante ella, en orden
+    private CompletableFuture<Void> rebuild;
+    private List<Change> changesDuringRebuild;
+
+    public PublicPlaylistFeed(ObjectMapper objectMapper,
+            @Value("${playlist.public-feed.page-sizes:10,20,50}") Set<Integer> cachedPageSizes,
+            @Value("${playlist.public-feed.ttl:PT5M}") Duration ttl,
+            @Value("${playlist.public-feed.load-wait:PT10S}") Duration loadWait) {
+        this.objectMapper = objectMapper;
+        this.cachedPageSizes = Set.copyOf(cachedPageSizes);
+        this.ttl = ttl;
+        this.loadWait = loadWait;
+    }
+
+    /**
+     * La instantánea se reconstruye completa al vencer el TTL, por si cambió algo que no pasa
+     * por PlayListService (por ejemplo la miniatura de un contenido).
+     */
+    public boolean isFresh() {
+        Snapshot current = snapshot;
+        return current != null && current.builtAt().plus(ttl).isAfter(Instant.now());
+    }
+
+    /**
+     * true si el llamador debe reconstruir la instantánea; false si otro hilo ya lo está haciendo.
+     * Quien recibe true debe terminar con load o abortRebuild.
+     */
+    public synchronized boolean beginRebuild() {
+        if (rebuild != null) {
+            return false;
+        }
+        rebuild = new CompletableFuture<>();
+        changesDuringRebuild = new ArrayList<>();
+        return true;
+    }
+
+    /**
+     * Instala una carga completa y le aplica los cambios recibidos mientras se leía.
+     */
+    public synchronized void load(List<PlayListResponse> entries) {
+        List<PlayListResponse> sorted = new ArrayList<>(entries);
+        sorted.sort((a, b) -> Integer.compare(b.getPlayListId(), a.getPlayListId()));
+        if (changesDuringRebuild != null) {
+            for (Change change : changesDuringRebuild) {
+                change.applyTo(sorted);
+            }
+        }
+        snapshot = new Snapshot(Collections.unmodifiableList(sorted), new ConcurrentHashMap<>(), Instant.now());
+        finishRebuild();
+    }
+
+    public synchronized void abortRebuild() {
+        finishRebuild();
+    }
+
+    /**
+     * Página serializada, o null si no hay instantánea. En el arranque en frío espera hasta
+     * load-wait a la reconstrucción en curso en vez de ir a la base.
+     */
+    public byte[] page(int page, int size) {
+        Snapshot current = snapshot != null ? snapshot : awaitRebuild();
+        if (current == null) {
+            return null;
+        }
+        if (!cachedPageSizes.contains(size)) {
+            return serialize(current, page, size);
+        }
+        return current.pages().computeIfAbsent(key(page, size), k -> serialize(current, page, size));
+    }
+
+    /**
+     * Agrega o reemplaza una playlist pública.
+     */
+    public synchronized void put(PlayListResponse response) {
+        record(new Change(response.getPlayListId(), response));
+        Snapshot current = snapshot;
+        if (current == null) {
+            return;
+        }
+        List<PlayListResponse> entries = new ArrayList<>(current.entries());
+        int index = indexOf(entries, response.getPlayListId());
+        if (index >= 0) {
+            // Mismo total: solo cambia la página que contiene a la playlist
+            entries.set(index, response);
+            Map<Long, byte[]> pages = new ConcurrentHashMap<>(current.pages());
+            pages.keySet().removeIf(k -> pageOf(k) == index / sizeOf(k));
+            snapshot = new Snapshot(Collections.unmodifiableList(entries), pages, current.builtAt());
+        } else {
+            entries.add(-index - 1, response);
+            // Cambia el total, que va en todas las páginas
+            snapshot = new Snapshot(Collections.unmodifiableList(entries), new ConcurrentHashMap<>(),
+                    current.builtAt());
+        }
+    }
+
+    /**
+     * Quita una playlist (eliminada o que dejó de ser pública).
+     */
+    public synchronized void remove(Integer playListId) {
+        record(new Change(playListId, null));
+        Snapshot current = snapshot;
+        if (current == null) {
+            return;
+        }
+        int index = indexOf(current.entries(), playListId);
+        if (index < 0) {
+            return;
+        }
+        List<PlayListResponse> entries = new ArrayList<>(current.entries());
+        entries.remove(index);
+        snapshot = new Snapshot(Collections.unmodifiableList(entries), new ConcurrentHashMap<>(), current.builtAt());
+    }
+
+    public byte[] serialize(Page<PlayListResponse> page) {
+        try {
+            return objectMapper.writeValueAsBytes(page);
+        } catch (JsonProcessingException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    // Mismo formato JSON que Page<PlayListResponse> devuelto por el controlador
+    private byte[] serialize(Snapshot current, int page, int size) {
+        List<PlayListResponse> entries = current.entries();
+        int from = (int) Math.min((long) page * size, entries.size());
+        int to = Math.min(from + size, entries.size());
+        return serialize(new PageImpl<>(entries.subList(from, to), PageRequest.of(page, size), entries.size()));
+    }
+
+    private void record(Change change) {
+        if (changesDuringRebuild != null) {
+            changesDuringRebuild.add(change);
+        }
+    }
+
+    private void finishRebuild() {
+        if (rebuild != null) {
+            rebuild.complete(null);
+        }
+        rebuild = null;
+        changesDuringRebuild = null;
+    }
+
+    private Snapshot awaitRebuild() {
+        CompletableFuture<Void> current;
+        synchronized (this) {
+            current = rebuild;
+        }
+        if (current == null) {
+            return snapshot;
+        }
+        try {
+            current.get(loadWait.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException | TimeoutException ex) {
+            // Se responde desde la base
+        }
+        return snapshot;
+    }
+
+    // Búsqueda binaria por playListId descendente; si no está devuelve -(punto de inserción) - 1
+    private static int indexOf(List<PlayListResponse> entries, Integer playListId) {
+        int low = 0;
+        int high = entries.size() - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            int cmp = Integer.compare(playListId, entries.get(mid).getPlayListId());
+            if (cmp == 0) {
+                return mid;
+            }
+            if (cmp > 0) {
+                high = mid - 1;
+            } else {
+                low = mid + 1;
+            }
+        }
+        return -(low + 1);
+    }
+
+    private static long key(int page, int size) {
+        return ((long) size << 32) | page;
+    }
+
+    private static int sizeOf(long key) {
+        return (int) (key >>> 32);
+    }
+
+    private static int pageOf(long key) {
+        return (int) key;
+    }
+
+    private record Snapshot(List<PlayListResponse> entries, Map<Long, byte[]> pages, Instant builtAt) {
+    }
+
+    // response null = la playlist se quitó del feed
+    private record Change(Integer playListId, PlayListResponse response) {
+
+        void applyTo(List<PlayListResponse> entries) {
+            int index = indexOf(entries, playListId);
+            if (response == null) {
+                if (index >= 0) {
+                    entries.remove(index);
+                }
+            } else if (index >= 0) {
+                entries.set(index, response);
+            } else {
+                entries.add(-index - 1, response);
+            }
+        }
+    }
+}
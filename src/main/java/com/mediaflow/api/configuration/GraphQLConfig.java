@@ -1,9 +1,16 @@
 package com.mediaflow.api.configuration;
 
+import org.springframework.boot.autoconfigure.graphql.GraphQlSourceBuilderCustomizer;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.graphql.execution.DataFetcherExceptionResolver;
+import org.springframework.graphql.execution.ErrorType;
 import org.springframework.graphql.execution.RuntimeWiringConfigurer;
 
+import com.mediaflow.api.cache.GraphQlDocumentCache;
+import com.mediaflow.api.exception.BadRequestException;
+
+import graphql.GraphqlErrorBuilder;
 import graphql.scalars.ExtendedScalars;
 
 @Configuration
@@ -15,4 +22,23 @@ public class GraphQLConfig {
                 .scalar(ExtendedScalars.DateTime)
                 .scalar(ExtendedScalars.Date);
     }
-}
\ No newline at end of file
+
+    // Parseo y validación una sola vez por documento; también resuelve consultas persistidas (APQ)
+    @Bean
+    public GraphQlSourceBuilderCustomizer preparsedDocumentCustomizer(GraphQlDocumentCache documentCache) {
+        return builder -> builder.configureGraphQl(graphQl -> graphQl.preparsedDocumentProvider(documentCache));
+    }
+
+    @Bean
+    public DataFetcherExceptionResolver badRequestExceptionResolver() {
+        return DataFetcherExceptionResolver.forSingleError((ex, env) -> {
+            if (ex instanceof BadRequestException) {
+                return GraphqlErrorBuilder.newError(env)
+                        .errorType(ErrorType.BAD_REQUEST)
+                        .message(ex.getMessage())
+                        .build();
+            }
+            return null;
+        });
+    }
+}
@@ -0,0 +1,37 @@
+package com.mediaflow.api.controller;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.mediaflow.api.cache.ContentResponseCache;
+import com.mediaflow.api.dto.CacheStatsResponse;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+
+@RestController
+@RequestMapping("/api/v1/cache")
+@RequiredArgsConstructor
+@SecurityRequirement(name = "bearerAuth")
+@Tag(name = "Cache", description = "In-memory cache statistics")
+public class CacheController {
+
+    private final ContentResponseCache contentResponseCache;
+
+    @Operation(summary = "Get cache statistics", description = "Returns hit, miss and eviction counters for each cache. Only admin.")
+    @GetMapping("/stats")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<Map<String, CacheStatsResponse>> getStats() {
+        Map<String, CacheStatsResponse> stats = new LinkedHashMap<>();
+        stats.put("contents", contentResponseCache.stats());
+        return ResponseEntity.ok(stats);
+    }
+}
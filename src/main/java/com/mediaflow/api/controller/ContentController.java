@@ -1,8 +1,13 @@
 package com.mediaflow.api.controller;
 
-import org.springframework.data.domain.Page;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.time.LocalDateTime;
+
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.web.PageableDefault;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
@@ -15,20 +20,30 @@ import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestMethod;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
+import com.mediaflow.api.dto.BulkCreateResponse;
 import com.mediaflow.api.dto.ContentRequest;
 import com.mediaflow.api.dto.ContentResponse;
+import com.mediaflow.api.dto.CursorPage;
+import com.mediaflow.api.dto.PageMode;
+import com.mediaflow.api.dto.SlicePage;
 import com.mediaflow.api.model.Content;
 import com.mediaflow.api.model.ContentType;
 import com.mediaflow.api.repository.ContentRepository;
 import com.mediaflow.api.service.AuthenticationService;
+import com.mediaflow.api.service.ContentBulkService;
 import com.mediaflow.api.service.ContentService;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.persistence.EntityNotFoundException;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 
@@ -42,64 +57,157 @@ import lombok.RequiredArgsConstructor;
 public class ContentController {
 
     private final ContentService contentService;
+    private final ContentBulkService contentBulkService;
     private final AuthenticationService authenticationService;
     private final ContentRepository contentRepository;
+    private final ObjectMapper objectMapper;
 
-    @Operation(summary = "Get all contents (paginated)", description = "Returns all contents with pagination. Accessible by any authenticated user.")
+    @Operation(summary = "Get all contents (paginated)", description = "Returns all contents with pagination. Accessible by any authenticated user. Use mode=CURSOR and the returned nextCursor for keyset pagination, or mode=SLICE (optionally with estimateTotal=true) to skip the count query.")
     @GetMapping
     @PreAuthorize("hasAnyRole('VIEWER', 'CREATOR', 'ADMIN')")
-    public ResponseEntity<Page<ContentResponse>> getAllContents(
+    public ResponseEntity<?> getAllContents(
+            @RequestParam(defaultValue = "OFFSET") PageMode mode,
+            @RequestParam(defaultValue = "false") boolean estimateTotal,
+            @RequestParam(required = false) String cursor,
             @PageableDefault(size = 20) Pageable pageable) {
+        if (mode == PageMode.CURSOR) {
+            return ResponseEntity.ok(contentService.findKeyset(null, null, cursor, pageable.getPageSize()));
+        }
+        if (mode == PageMode.SLICE) {
+            Long estimatedTotal = estimateTotal ? contentService.estimateTotal() : null;
+            return ResponseEntity.ok(SlicePage.from(contentService.findSlice(null, null, pageable), estimatedTotal));
+        }
         return ResponseEntity.ok(contentService.findAll(pageable));
     }
 
     @Operation(summary = "Get contents by type", description = "Returns contents filtered by type (VIDEO or IMAGE) with pagination.")
     @GetMapping("/type/{contentType}")
     @PreAuthorize("hasAnyRole('VIEWER', 'CREATOR', 'ADMIN')")
-    public ResponseEntity<Page<ContentResponse>> getContentsByType(
+    public ResponseEntity<?> getContentsByType(
             @PathVariable ContentType contentType,
+            @RequestParam(defaultValue = "OFFSET") PageMode mode,
+            @RequestParam(required = false) String cursor,
             @PageableDefault(size = 20) Pageable pageable) {
+        if (mode == PageMode.CURSOR) {
+            return ResponseEntity.ok(contentService.findKeyset(null, contentType, cursor, pageable.getPageSize()));
+        }
+        if (mode == PageMode.SLICE) {
+            return ResponseEntity.ok(SlicePage.from(contentService.findSlice(null, contentType, pageable), null));
+        }
         return ResponseEntity.ok(contentService.findByContentType(contentType, pageable));
     }
 
     @Operation(summary = "Get my contents", description = "Returns all contents created by the authenticated user.")
     @GetMapping("/my-contents")
     @PreAuthorize("hasAnyRole('VIEWER', 'CREATOR', 'ADMIN')")
-    public ResponseEntity<Page<ContentResponse>> getMyContents(
+    public ResponseEntity<?> getMyContents(
+            @RequestParam(defaultValue = "OFFSET") PageMode mode,
+            @RequestParam(required = false) String cursor,
             @PageableDefault(size = 20) Pageable pageable) {
         Integer currentUserId = authenticationService.getCurrentUserId();
+        if (mode == PageMode.CURSOR) {
+            return ResponseEntity.ok(contentService.findKeyset(currentUserId, null, cursor, pageable.getPageSize()));
+        }
+        if (mode == PageMode.SLICE) {
+            return ResponseEntity.ok(SlicePage.from(contentService.findSlice(currentUserId, null, pageable), null));
+        }
         return ResponseEntity.ok(contentService.findByUserFiles(currentUserId, pageable));
     }
 
     @Operation(summary = "Get my contents by type", description = "Returns contents by type created by the authenticated user.")
     @GetMapping("/my-contents/type/{contentType}")
     @PreAuthorize("hasAnyRole('VIEWER', 'CREATOR', 'ADMIN')")
-    public ResponseEntity<Page<ContentResponse>> getMyContentsByType(
+    public ResponseEntity<?> getMyContentsByType(
             @PathVariable ContentType contentType,
+            @RequestParam(defaultValue = "OFFSET") PageMode mode,
+            @RequestParam(required = false) String cursor,
             @PageableDefault(size = 20) Pageable pageable) {
         Integer currentUserId = authenticationService.getCurrentUserId();
+        if (mode == PageMode.CURSOR) {
+            return ResponseEntity.ok(
+                    contentService.findKeyset(currentUserId, contentType, cursor, pageable.getPageSize()));
+        }
+        if (mode == PageMode.SLICE) {
+            return ResponseEntity.ok(SlicePage.from(contentService.findSlice(currentUserId, contentType, pageable), null));
+        }
         return ResponseEntity.ok(contentService.findByUserContentType(currentUserId, contentType, pageable));
     }
 
     @Operation(summary = "Get user contents", description = "Returns all contents from a specific user.")
     @GetMapping("/user/{userId}")
     @PreAuthorize("hasAnyRole('VIEWER', 'CREATOR', 'ADMIN')")
-    public ResponseEntity<Page<ContentResponse>> getUserContents(
+    public ResponseEntity<?> getUserContents(
             @PathVariable Integer userId,
+            @RequestParam(defaultValue = "OFFSET") PageMode mode,
+            @RequestParam(required = false) String cursor,
             @PageableDefault(size = 20) Pageable pageable) {
+        if (mode == PageMode.CURSOR) {
+            return ResponseEntity.ok(contentService.findKeyset(userId, null, cursor, pageable.getPageSize()));
+        }
+        if (mode == PageMode.SLICE) {
+            return ResponseEntity.ok(SlicePage.from(contentService.findSlice(userId, null, pageable), null));
+        }
         return ResponseEntity.ok(contentService.findByUserFiles(userId, pageable));
     }
 
     @Operation(summary = "Get user contents by type", description = "Returns contents by type from a specific user.")
     @GetMapping("/user/{userId}/type/{contentType}")
     @PreAuthorize("hasAnyRole('VIEWER', 'CREATOR', 'ADMIN')")
-    public ResponseEntity<Page<ContentResponse>> getUserContentsByType(
+    public ResponseEntity<?> getUserContentsByType(
             @PathVariable Integer userId,
             @PathVariable ContentType contentType,
+            @RequestParam(defaultValue = "OFFSET") PageMode mode,
+            @RequestParam(required = false) String cursor,
             @PageableDefault(size = 20) Pageable pageable) {
+        if (mode == PageMode.CURSOR) {
+            return ResponseEntity.ok(contentService.findKeyset(userId, contentType, cursor, pageable.getPageSize()));
+        }
+        if (mode == PageMode.SLICE) {
+            return ResponseEntity.ok(SlicePage.from(contentService.findSlice(userId, contentType, pageable), null));
+        }
         return ResponseEntity.ok(contentService.findByUserContentType(userId, contentType, pageable));
     }
 
+    @Operation(summary = "Search contents", description = "Full-text search over title and description using the text search configuration of each content's language. Results are ordered by relevance; use the returned nextCursor to fetch the next page. contentType and userId are optional filters.")
+    @GetMapping("/search")
+    @PreAuthorize("hasAnyRole('VIEWER', 'CREATOR', 'ADMIN')")
+    public ResponseEntity<CursorPage<ContentResponse>> searchContents(
+            @RequestParam("q") String query,
+            @RequestParam(required = false) ContentType contentType,
+            @RequestParam(required = false) Integer userId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size) {
+        return ResponseEntity.ok(contentService.search(query, contentType, userId, cursor, size));
+    }
+
+    @Operation(summary = "Export contents as NDJSON", description = "Streams every content matching the optional filters as newline-delimited JSON. Memory stays flat regardless of catalog size.")
+    @GetMapping(value = "/export", produces = "application/x-ndjson")
+    @PreAuthorize("hasAnyRole('VIEWER', 'CREATOR', 'ADMIN')")
+    public void exportContents(
+            @RequestParam(required = false) ContentType contentType,
+            @RequestParam(required = false) Integer userId,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime createdFrom,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime createdTo,
+            HttpServletResponse response) throws IOException {
+        response.setContentType("application/x-ndjson");
+        response.setCharacterEncoding("UTF-8");
+        OutputStream out = response.getOutputStream();
+        ObjectWriter writer = objectMapper.writerFor(ContentResponse.class);
+
+        // Si el cliente se desconecta la escritura falla, la excepción cierra el cursor y la consulta se detiene
+        contentService.export(contentType, userId, createdFrom, createdTo, batch -> {
+            try {
+                for (ContentResponse content : batch) {
+                    out.write(writer.writeValueAsBytes(content));
+                    out.write('\n');
+                }
+                out.flush();
+            } catch (IOException ex) {
+                throw new UncheckedIOException(ex);
+            }
+        });
+    }
+
     @Operation(summary = "Get content by ID", description = "Returns a specific content. Accessible by any authenticated user.")
     @GetMapping("/{contentId}")
     @PreAuthorize("hasAnyRole('VIEWER', 'CREATOR', 'ADMIN')")
@@ -119,6 +227,17 @@ public class ContentController {
         return ResponseEntity.status(HttpStatus.CREATED).body(created);
     }
 
+    @Operation(summary = "Create contents in bulk", description = "Creates many contents in chunked transactions with JDBC batch inserts and reports a result for each item. Only creators can upload content.")
+    @PostMapping("/bulk")
+    @PreAuthorize("hasAnyRole('CREATOR', 'ADMIN')")
+    public ResponseEntity<BulkCreateResponse> createContents(@RequestBody java.util.List<ContentRequest> requests) {
+        // El usuario autenticado es el que crea todos los contenidos
+        Integer currentUserId = authenticationService.getCurrentUserId();
+        requests.stream().filter(java.util.Objects::nonNull).forEach(request -> request.setUserId(currentUserId));
+
+        return ResponseEntity.ok(contentBulkService.createAll(requests));
+    }
+
     @Operation(summary = "Get content categories", description = "Returns the categories assigned to a content.")
     @GetMapping("/{contentId}/categories")
     @PreAuthorize("hasAnyRole('VIEWER', 'CREATOR', 'ADMIN')")
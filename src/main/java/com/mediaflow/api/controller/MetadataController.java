@@ -1,5 +1,8 @@
 package com.mediaflow.api.controller;
 
+import java.util.List;
+
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
@@ -12,10 +15,18 @@ import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestMethod;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
+import com.mediaflow.api.dto.ContentResponse;
+import com.mediaflow.api.dto.CursorPage;
+import com.mediaflow.api.dto.ExtractionStatsResponse;
+import com.mediaflow.api.dto.MetadataBatchRequest;
+import com.mediaflow.api.dto.MetadataBatchResponse;
 import com.mediaflow.api.dto.MetadataRequest;
 import com.mediaflow.api.dto.MetadataResponse;
+import com.mediaflow.api.dto.MetadataSummaryResponse;
+import com.mediaflow.api.extraction.MetadataExtractionPipeline;
 import com.mediaflow.api.model.Content;
 import com.mediaflow.api.repository.ContentRepository;
 import com.mediaflow.api.service.AuthenticationService;
@@ -40,6 +51,7 @@ public class MetadataController {
     private final MetadataService metadataService;
     private final AuthenticationService authenticationService;
     private final ContentRepository contentRepository;
+    private final MetadataExtractionPipeline metadataExtractionPipeline;
 
     @Operation(summary = "Get metadata by content", description = "Returns the metadata for a specific content")
     @GetMapping("/content/{contentId}")
@@ -48,6 +60,33 @@ public class MetadataController {
         return ResponseEntity.ok(metadataService.findByContentId(contentId));
     }
 
+    @Operation(summary = "List metadata summaries", description = "Returns extractor, extraction date and stored size of each metadata, ordered by content ID, without the result JSON. Use the returned nextCursor to fetch the next page.")
+    @GetMapping
+    @PreAuthorize("hasAnyRole('VIEWER', 'CREATOR', 'ADMIN')")
+    public ResponseEntity<CursorPage<MetadataSummaryResponse>> getMetadataSummaries(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size) {
+        return ResponseEntity.ok(metadataService.findSummaries(cursor, size));
+    }
+
+    @Operation(summary = "Get metadata summaries by content", description = "Returns the metadata summaries (without the result JSON) of the given contents, in request order. Contents without metadata are omitted.")
+    @GetMapping("/summaries")
+    @PreAuthorize("hasAnyRole('VIEWER', 'CREATOR', 'ADMIN')")
+    public ResponseEntity<List<MetadataSummaryResponse>> getMetadataSummariesByContent(
+            @RequestParam List<Integer> contentIds) {
+        return ResponseEntity.ok(metadataService.findSummaries(contentIds));
+    }
+
+    @Operation(summary = "Query contents by metadata", description = "Returns the contents whose extracted metadata matches the filter, ordered by content ID; use the returned nextCursor to fetch the next page. Filter syntax: path op value clauses joined by AND, e.g. source = \"local\" AND tags[name = \"cat\" AND confidence > 0.8]. Bracketed conditions must hold for the same array element. Operators: =, !=, >, >=, <, <=.")
+    @GetMapping("/search")
+    @PreAuthorize("hasAnyRole('VIEWER', 'CREATOR', 'ADMIN')")
+    public ResponseEntity<CursorPage<ContentResponse>> searchByMetadata(
+            @RequestParam String filter,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size) {
+        return ResponseEntity.ok(metadataService.findContents(filter, cursor, size));
+    }
+
     @Operation(summary = "Get metadata by ID", description = "Returns a specific metadata by ID")
     @GetMapping("/{metadataId}")
     @PreAuthorize("hasAnyRole('VIEWER', 'CREATOR', 'ADMIN')")
@@ -71,6 +110,62 @@ public class MetadataController {
         return ResponseEntity.status(HttpStatus.CREATED).body(created);
     }
 
+    @Operation(summary = "Create or replace metadata for content", description = "Creates the metadata of request.contentId, or replaces it if it already exists, in a single statement. Only accessible by content owner or admin.")
+    @PutMapping
+    @PreAuthorize("hasAnyRole('CREATOR', 'ADMIN')")
+    public ResponseEntity<?> upsertMetadata(@Valid @RequestBody MetadataRequest request) {
+        Content content = contentRepository.findById(request.getContentId())
+                .orElseThrow(() -> new EntityNotFoundException("Content not found: " + request.getContentId()));
+
+        if (!authenticationService.canAccess(content.getUserId())) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN)
+                    .body(buildErrorResponse("No tienes permiso para modificar la metadata de este contenido"));
+        }
+
+        return ResponseEntity.ok(metadataService.upsert(request));
+    }
+
+    @Operation(summary = "Create or replace metadata in bulk", description = "Upserts many extractor results keyed on contentId, a few statements per thousand items. If a contentId repeats, the last item wins. Contents that do not exist are reported in notFound. Only admin.")
+    @PostMapping("/batch")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<MetadataBatchResponse> upsertMetadataBatch(@Valid @RequestBody MetadataBatchRequest request) {
+        return ResponseEntity.ok(metadataService.upsertAll(request.getItems()));
+    }
+
+    @Operation(summary = "Extract metadata for content", description = "Queues metadata extraction for a content and returns 202 without waiting for the result. Returns 503 with Retry-After when the extraction queue is full. Only accessible by content owner or admin.")
+    @PostMapping("/content/{contentId}/extract")
+    @PreAuthorize("hasAnyRole('CREATOR', 'ADMIN')")
+    public ResponseEntity<?> extractMetadata(@PathVariable Integer contentId) {
+        Content content = contentRepository.findById(contentId)
+                .orElseThrow(() -> new EntityNotFoundException("Content not found: " + contentId));
+
+        if (!authenticationService.canAccess(content.getUserId())) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN)
+                    .body(buildErrorResponse("No tienes permiso para extraer metadata de este contenido"));
+        }
+
+        MetadataExtractionPipeline.Status status = metadataExtractionPipeline.enqueue(contentId);
+        if (status == MetadataExtractionPipeline.Status.REJECTED) {
+            java.util.Map<String, Object> error = buildErrorResponse("La cola de extracción está llena, intenta más tarde");
+            error.put("code", "QUEUE_FULL");
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                    .header(HttpHeaders.RETRY_AFTER, "5")
+                    .body(error);
+        }
+
+        java.util.Map<String, Object> body = new java.util.HashMap<>();
+        body.put("contentId", contentId);
+        body.put("status", status);
+        return ResponseEntity.accepted().body(body);
+    }
+
+    @Operation(summary = "Get extraction statistics", description = "Returns counters of the metadata extraction pipeline: jobs in flight, submitted, succeeded, failed, retried and rejected, whether result reuse is active, and its cache hits and misses. Only admin.")
+    @GetMapping("/extraction/stats")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<ExtractionStatsResponse> getExtractionStats() {
+        return ResponseEntity.ok(metadataExtractionPipeline.stats());
+    }
+
     @Operation(summary = "Update metadata", description = "Updates metadata. Only accessible by content owner or admin.")
     @PutMapping("/{metadataId}")
     @PreAuthorize("hasAnyRole('CREATOR', 'ADMIN')")
@@ -1,12 +1,15 @@
 package com.mediaflow.api.controller;
 
 import java.net.URI;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Set;
 
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.web.PageableDefault;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.CrossOrigin;
@@ -18,10 +21,15 @@ import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestMethod;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
+import com.mediaflow.api.dto.PlayListCopyRequest;
+import com.mediaflow.api.dto.PlayListMergeRequest;
+import com.mediaflow.api.dto.PlayListMoveRequest;
 import com.mediaflow.api.dto.PlayListRequest;
 import com.mediaflow.api.dto.PlayListResponse;
+import com.mediaflow.api.dto.PlayListStatsResponse;
 import com.mediaflow.api.model.PlayList;
 import com.mediaflow.api.repository.PlayListRepository;
 import com.mediaflow.api.service.AuthenticationService;
@@ -47,12 +55,17 @@ public class PlayListController {
     private final AuthenticationService authenticationService;
     private final PlayListRepository playListRepository;
 
-    @Operation(summary = "Get all public playlists", description = "Returns all public playlists with pagination")
+    @Operation(summary = "Get all public playlists", description = "Returns all public playlists with pagination, newest first. Unsorted pages are served from a precomputed in-memory snapshot; passing a sort queries the database.")
     @GetMapping("/public")
     @PreAuthorize("hasAnyRole('VIEWER', 'CREATOR', 'ADMIN')")
-    public ResponseEntity<Page<PlayListResponse>> getPublicPlaylists(
+    public ResponseEntity<?> getPublicPlaylists(
             @PageableDefault(size = 20) Pageable pageable) {
-        return ResponseEntity.ok(playListService.findPublicPlaylists(pageable));
+        if (pageable.getSort().isSorted()) {
+            return ResponseEntity.ok(playListService.findPublicPlaylists(pageable));
+        }
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(playListService.findPublicFeedPage(pageable.getPageNumber(), pageable.getPageSize()));
     }
 
     @Operation(summary = "Get my playlists", description = "Returns playlists created by the authenticated user")
@@ -73,6 +86,15 @@ public class PlayListController {
         return ResponseEntity.ok(playListService.findByUserId(userId, pageable));
     }
 
+    @Operation(summary = "Get playlist statistics", description = "Returns item count, total video duration, total file size and content-type mix for many playlists at once, computed with one grouped query. IDs that do not exist or that the user cannot see are omitted.")
+    @GetMapping("/stats")
+    @PreAuthorize("hasAnyRole('VIEWER', 'CREATOR', 'ADMIN')")
+    public ResponseEntity<List<PlayListStatsResponse>> getPlaylistStats(@RequestParam List<Integer> ids) {
+        // Solo playlists públicas o del usuario actual; el servicio valida la cantidad antes de cargarlas
+        return ResponseEntity.ok(playListService.findStats(ids,
+                playlist -> playlist.isPublic() || authenticationService.canAccess(playlist.getUserId())));
+    }
+
     @Operation(summary = "Get playlist by ID", description = "Returns a specific playlist")
     @GetMapping("/{playlistId}")
     @PreAuthorize("hasAnyRole('VIEWER', 'CREATOR', 'ADMIN')")
@@ -90,6 +112,24 @@ public class PlayListController {
         return ResponseEntity.ok(playListService.findById(playlistId));
     }
 
+    @Operation(summary = "Get playlist contents", description = "Returns the contents of a playlist in playlist order with keyset pagination. Use the returned nextCursor to fetch the next page. Playlist list responses only include the item count and the first thumbnails.")
+    @GetMapping("/{playlistId}/contents")
+    @PreAuthorize("hasAnyRole('VIEWER', 'CREATOR', 'ADMIN')")
+    public ResponseEntity<?> getPlaylistContents(
+            @PathVariable Integer playlistId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size) {
+        PlayList playlist = playListRepository.findById(playlistId)
+                .orElseThrow(() -> new EntityNotFoundException("Playlist not found: " + playlistId));
+
+        if (!playlist.isPublic() && !authenticationService.canAccess(playlist.getUserId())) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN)
+                    .body(buildErrorResponse("No tienes permiso para ver esta playlist"));
+        }
+
+        return ResponseEntity.ok(playListService.findContents(playlistId, cursor, size));
+    }
+
     @Operation(summary = "Create new playlist", description = "Creates a new playlist")
     @PostMapping
     @PreAuthorize("hasAnyRole('VIEWER', 'CREATOR', 'ADMIN')")
@@ -103,6 +143,59 @@ public class PlayListController {
                 .body(created);
     }
 
+    @Operation(summary = "Copy playlist", description = "Creates a new playlist owned by the authenticated user with the same contents in the same order. The copy runs inside the database. Title and description default to the original's; the copy is private unless isPublic is true.")
+    @PostMapping("/{playlistId}/copy")
+    @PreAuthorize("hasAnyRole('VIEWER', 'CREATOR', 'ADMIN')")
+    public ResponseEntity<?> copyPlaylist(
+            @PathVariable Integer playlistId,
+            @Valid @RequestBody(required = false) PlayListCopyRequest request) {
+
+        PlayList playlist = playListRepository.findById(playlistId)
+                .orElseThrow(() -> new EntityNotFoundException("Playlist not found: " + playlistId));
+
+        if (!playlist.isPublic() && !authenticationService.canAccess(playlist.getUserId())) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN)
+                    .body(buildErrorResponse("No tienes permiso para ver esta playlist"));
+        }
+
+        PlayListCopyRequest copyRequest = request != null ? request : new PlayListCopyRequest();
+        copyRequest.setUserId(authenticationService.getCurrentUserId());
+
+        PlayListResponse created = playListService.copy(playlistId, copyRequest);
+        return ResponseEntity
+                .created(URI.create("/api/v1/playlists/" + created.getPlayListId()))
+                .body(created);
+    }
+
+    @Operation(summary = "Merge playlists", description = "Appends the contents of the source playlists to this playlist, in the given order, skipping contents already present. The merge runs inside the database. Only the owner or admin can modify the target; sources must be public or accessible.")
+    @PostMapping("/{playlistId}/merge")
+    @PreAuthorize("hasAnyRole('VIEWER', 'CREATOR', 'ADMIN')")
+    public ResponseEntity<?> mergePlaylists(
+            @PathVariable Integer playlistId,
+            @Valid @RequestBody PlayListMergeRequest request) {
+
+        PlayList playlist = playListRepository.findById(playlistId)
+                .orElseThrow(() -> new EntityNotFoundException("Playlist not found: " + playlistId));
+
+        if (!authenticationService.canAccess(playlist.getUserId())) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN)
+                    .body(buildErrorResponse("No tienes permiso para modificar esta playlist"));
+        }
+
+        List<PlayList> sources = playListRepository.findAllById(request.getSourcePlaylistIds());
+        Set<Integer> missing = new LinkedHashSet<>(request.getSourcePlaylistIds());
+        sources.forEach(source -> missing.remove(source.getPlayListId()));
+        if (!missing.isEmpty()) {
+            throw new EntityNotFoundException("Playlists not found: " + missing);
+        }
+        if (sources.stream().anyMatch(source -> !source.isPublic() && !authenticationService.canAccess(source.getUserId()))) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN)
+                    .body(buildErrorResponse("No tienes permiso para ver una de las playlists origen"));
+        }
+
+        return ResponseEntity.ok(playListService.merge(playlistId, request.getSourcePlaylistIds()));
+    }
+
     @Operation(summary = "Update playlist", description = "Updates a playlist. Only the owner or admin can update.")
     @PutMapping("/{playlistId}")
     @PreAuthorize("hasAnyRole('VIEWER', 'CREATOR', 'ADMIN')")
@@ -137,12 +230,13 @@ public class PlayListController {
         return ResponseEntity.noContent().build();
     }
 
-    @Operation(summary = "Add content to playlist", description = "Adds a single content to a playlist")
+    @Operation(summary = "Add content to playlist", description = "Adds a single content to a playlist. By default it is appended at the end; pass afterContentId to insert it right after another item.")
     @PostMapping("/{playlistId}/contents/{contentId}")
     @PreAuthorize("hasAnyRole('VIEWER', 'CREATOR', 'ADMIN')")
     public ResponseEntity<?> addContentToPlaylist(
             @PathVariable Integer playlistId,
-            @PathVariable Integer contentId) {
+            @PathVariable Integer contentId,
+            @RequestParam(required = false) Integer afterContentId) {
 
         PlayList playlist = playListRepository.findById(playlistId)
                 .orElseThrow(() -> new EntityNotFoundException("Playlist not found: " + playlistId));
@@ -152,10 +246,10 @@ public class PlayListController {
                     .body(buildErrorResponse("No tienes permiso para modificar esta playlist"));
         }
 
-        return ResponseEntity.ok(playListService.addContentToPlaylist(playlistId, contentId));
+        return ResponseEntity.ok(playListService.addContentToPlaylist(playlistId, contentId, afterContentId));
     }
 
-    @Operation(summary = "Add multiple contents to playlist", description = "Adds multiple contents to a playlist")
+    @Operation(summary = "Add multiple contents to playlist", description = "Appends multiple contents to a playlist in a single statement. Returns which IDs were added, skipped as duplicates, or not found. At most 1000 IDs per request.")
     @PostMapping("/{playlistId}/contents")
     @PreAuthorize("hasAnyRole('VIEWER', 'CREATOR', 'ADMIN')")
     public ResponseEntity<?> addMultipleContents(
@@ -173,6 +267,26 @@ public class PlayListController {
         return ResponseEntity.ok(playListService.addMultipleContents(playlistId, contentIds));
     }
 
+    @Operation(summary = "Move content within playlist", description = "Moves a content right after afterContentId, or to the start of the playlist when afterContentId is null. Only the moved item is rewritten.")
+    @PutMapping("/{playlistId}/contents/{contentId}/position")
+    @PreAuthorize("hasAnyRole('VIEWER', 'CREATOR', 'ADMIN')")
+    public ResponseEntity<?> moveContent(
+            @PathVariable Integer playlistId,
+            @PathVariable Integer contentId,
+            @RequestBody PlayListMoveRequest request) {
+
+        PlayList playlist = playListRepository.findById(playlistId)
+                .orElseThrow(() -> new EntityNotFoundException("Playlist not found: " + playlistId));
+
+        if (!authenticationService.canAccess(playlist.getUserId())) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN)
+                    .body(buildErrorResponse("No tienes permiso para modificar esta playlist"));
+        }
+
+        playListService.moveContent(playlistId, contentId, request.getAfterContentId());
+        return ResponseEntity.noContent().build();
+    }
+
     @Operation(summary = "Remove content from playlist", description = "Removes a content from a playlist")
     @DeleteMapping("/{playlistId}/contents/{contentId}")
     @PreAuthorize("hasAnyRole('VIEWER', 'CREATOR', 'ADMIN')")
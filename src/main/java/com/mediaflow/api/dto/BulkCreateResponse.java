@@ -0,0 +1,23 @@
+package com.mediaflow.api.dto;
+
+import java.util.List;
+
+import lombok.Builder;
+import lombok.Value;
+
+@Value
+@Builder
+public class BulkCreateResponse {
+    int created;
+    int failed;
+    List<BulkItemResult> items;
+
+    public static BulkCreateResponse of(List<BulkItemResult> items) {
+        int created = (int) items.stream().filter(item -> item.getStatus() == BulkItemStatus.CREATED).count();
+        return BulkCreateResponse.builder()
+                .created(created)
+                .failed(items.size() - created)
+                .items(items)
+                .build();
+    }
+}
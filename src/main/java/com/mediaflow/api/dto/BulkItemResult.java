@@ -0,0 +1,28 @@
+package com.mediaflow.api.dto;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+import lombok.Builder;
+import lombok.Value;
+
+@Value
+@Builder
+public class BulkItemResult {
+    // Posición del elemento en la petición
+    int index;
+
+    @JsonProperty("content id")
+    Integer contentId;
+
+    BulkItemStatus status;
+
+    String error;
+
+    public static BulkItemResult created(int index, Integer contentId) {
+        return BulkItemResult.builder().index(index).contentId(contentId).status(BulkItemStatus.CREATED).build();
+    }
+
+    public static BulkItemResult failed(int index, String error) {
+        return BulkItemResult.builder().index(index).status(BulkItemStatus.FAILED).error(error).build();
+    }
+}
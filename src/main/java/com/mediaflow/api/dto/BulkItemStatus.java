@@ -0,0 +1,6 @@
+package com.mediaflow.api.dto;
+
+public enum BulkItemStatus {
+    CREATED,
+    FAILED,
+}
@@ -0,0 +1,26 @@
+package com.mediaflow.api.dto;
+
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+
+import lombok.Builder;
+import lombok.Value;
+
+@Value
+@Builder
+public class CacheStatsResponse {
+    long hits;
+    long misses;
+    double hitRate;
+    long evictions;
+    long size;
+
+    public static CacheStatsResponse from(CacheStats stats, long size) {
+        return CacheStatsResponse.builder()
+                .hits(stats.hitCount())
+                .misses(stats.missCount())
+                .hitRate(stats.hitRate())
+                .evictions(stats.evictionCount())
+                .size(size)
+                .build();
+    }
+}
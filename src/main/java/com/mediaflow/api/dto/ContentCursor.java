@@ -0,0 +1,50 @@
+package com.mediaflow.api.dto;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+
+import com.mediaflow.api.exception.BadRequestException;
+import com.mediaflow.api.repository.projection.ContentRow;
+
+import lombok.Value;
+
+/**
+ * Posición de paginación por keyset sobre (created, content_id), en orden descendente.
+ * Se expone a los clientes como un token opaco en Base64.
+ */
+@Value
+public class ContentCursor {
+
+    /**
+     * Cursor de la primera página: mayor que cualquier (created, content_id) real
+     */
+    public static final ContentCursor FIRST = new ContentCursor(LocalDateTime.of(9999, 12, 31, 23, 59, 59),
+            Integer.MAX_VALUE);
+
+    LocalDateTime created;
+    Integer contentId;
+
+    public static ContentCursor of(ContentRow row) {
+        return new ContentCursor(row.created(), row.contentId());
+    }
+
+    public String encode() {
+        String raw = created + "|" + contentId;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static ContentCursor decode(String token) {
+        if (token == null || token.isBlank()) {
+            return FIRST;
+        }
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            int separator = raw.lastIndexOf('|');
+            return new ContentCursor(LocalDateTime.parse(raw.substring(0, separator)),
+                    Integer.valueOf(raw.substring(separator + 1)));
+        } catch (RuntimeException ex) {
+            throw new BadRequestException("Invalid cursor: " + token, ex);
+        }
+    }
+}
@@ -0,0 +1,22 @@
+package com.mediaflow.api.dto;
+
+import java.util.List;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+import lombok.Builder;
+import lombok.Value;
+
+@Value
+@Builder
+public class CursorPage<T> {
+    List<T> content;
+
+    int size;
+
+    @JsonProperty("hasNext")
+    boolean hasNext;
+
+    // Token opaco para pedir la siguiente página (null si no hay más)
+    String nextCursor;
+}
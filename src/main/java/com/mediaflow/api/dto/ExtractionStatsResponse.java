@@ -0,0 +1,24 @@
+package com.mediaflow.api.dto;
+
+import lombok.Builder;
+import lombok.Value;
+
+@Value
+@Builder
+public class ExtractionStatsResponse {
+    // Trabajos en cola o en curso
+    long inFlight;
+    long submitted;
+    long succeeded;
+    long failed;
+    long retried;
+    long rejected;
+    // false si reuse-results está apagado o el extractor configurado lee datos del contenido
+    // (no es mediaDeterministic): entonces no se guardan ni se reutilizan resultados
+    boolean reuseActive;
+    // Trabajos resueltos sin llamar al extractor: resultado ya guardado para el medio o
+    // compartido con otro trabajo en curso del mismo medio
+    long cacheHits;
+    long cacheMisses;
+    double cacheHitRate;
+}
@@ -0,0 +1,14 @@
+package com.mediaflow.api.dto;
+
+import java.util.List;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import lombok.Data;
+
+@Data
+public class MetadataBatchRequest {
+    @NotEmpty
+    @Valid
+    private List<MetadataRequest> items;
+}
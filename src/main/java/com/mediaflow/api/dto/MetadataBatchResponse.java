@@ -0,0 +1,17 @@
+package com.mediaflow.api.dto;
+
+import java.util.List;
+
+import lombok.Builder;
+import lombok.Value;
+
+@Value
+@Builder
+public class MetadataBatchResponse {
+    int inserted;
+
+    // Contenidos que ya tenían metadata y se reemplazó
+    int updated;
+
+    List<Integer> notFound;
+}
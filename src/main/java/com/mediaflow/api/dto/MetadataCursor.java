@@ -0,0 +1,36 @@
+package com.mediaflow.api.dto;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+import com.mediaflow.api.exception.BadRequestException;
+
+import lombok.Value;
+
+/**
+ * Posición de paginación por keyset sobre content_id ascendente para las consultas de metadata.
+ */
+@Value
+public class MetadataCursor {
+
+    public static final MetadataCursor FIRST = new MetadataCursor(0);
+
+    Integer contentId;
+
+    public String encode() {
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString(String.valueOf(contentId).getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static MetadataCursor decode(String token) {
+        if (token == null || token.isBlank()) {
+            return FIRST;
+        }
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            return new MetadataCursor(Integer.valueOf(raw));
+        } catch (RuntimeException ex) {
+            throw new BadRequestException("Invalid cursor: " + token, ex);
+        }
+    }
+}
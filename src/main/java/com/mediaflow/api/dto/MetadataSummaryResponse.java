@@ -0,0 +1,27 @@
+package com.mediaflow.api.dto;
+
+import java.time.LocalDate;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+import lombok.Builder;
+import lombok.Value;
+
+@Value
+@Builder
+public class MetadataSummaryResponse {
+    @JsonProperty("metadata Id")
+    Integer metadataId;
+
+    String extractor;
+
+    @JsonProperty("extracted at")
+    LocalDate extractedAt;
+
+    @JsonProperty("content id")
+    Integer contentId;
+
+    // Tamaño almacenado de result json
+    @JsonProperty("size bytes")
+    Integer sizeBytes;
+}
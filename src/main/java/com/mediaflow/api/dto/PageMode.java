@@ -0,0 +1,7 @@
+package com.mediaflow.api.dto;
+
+public enum PageMode {
+    OFFSET,
+    CURSOR,
+    SLICE,
+}
@@ -0,0 +1,17 @@
+package com.mediaflow.api.dto;
+
+import java.util.List;
+
+import lombok.Builder;
+import lombok.Value;
+
+@Value
+@Builder
+public class PlayListAddResponse {
+    List<Integer> added;
+
+    // Ya estaban en la playlist o repetidos en la petición
+    List<Integer> duplicates;
+
+    List<Integer> notFound;
+}
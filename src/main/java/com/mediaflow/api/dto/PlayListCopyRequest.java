@@ -0,0 +1,18 @@
+package com.mediaflow.api.dto;
+
+import jakarta.validation.constraints.Size;
+import lombok.Data;
+
+@Data
+public class PlayListCopyRequest {
+    // Opcionales: por defecto se usan el título y la descripción de la playlist original
+    @Size(max = 100)
+    private String title;
+
+    @Size(max = 255)
+    private String description;
+
+    private Boolean isPublic; // Por defecto la copia es privada
+
+    private Integer userId; // Se asigna automáticamente desde el token
+}
@@ -0,0 +1,44 @@
+package com.mediaflow.api.dto;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+import com.mediaflow.api.exception.BadRequestException;
+import com.mediaflow.api.model.PlayListItem;
+
+import lombok.Value;
+
+/**
+ * Posición de paginación por keyset sobre (position, content_id) ascendente dentro de una playlist.
+ */
+@Value
+public class PlayListItemCursor {
+
+    public static final PlayListItemCursor FIRST = new PlayListItemCursor(Long.MIN_VALUE, Integer.MIN_VALUE);
+
+    Long position;
+    Integer contentId;
+
+    public static PlayListItemCursor of(PlayListItem item) {
+        return new PlayListItemCursor(item.getPosition(), item.getContentId());
+    }
+
+    public String encode() {
+        String raw = position + "|" + contentId;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static PlayListItemCursor decode(String token) {
+        if (token == null || token.isBlank()) {
+            return FIRST;
+        }
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            int separator = raw.lastIndexOf('|');
+            return new PlayListItemCursor(Long.valueOf(raw.substring(0, separator)),
+                    Integer.valueOf(raw.substring(separator + 1)));
+        } catch (RuntimeException ex) {
+            throw new BadRequestException("Invalid cursor: " + token, ex);
+        }
+    }
+}
@@ -0,0 +1,13 @@
+package com.mediaflow.api.dto;
+
+import java.util.List;
+
+import jakarta.validation.constraints.NotEmpty;
+import lombok.Data;
+
+@Data
+public class PlayListMergeRequest {
+    // Se agregan en este orden; los contenidos repetidos se omiten
+    @NotEmpty
+    private List<Integer> sourcePlaylistIds;
+}
@@ -0,0 +1,8 @@
+package com.mediaflow.api.dto;
+
+import lombok.Data;
+
+@Data
+public class PlayListMoveRequest {
+    private Integer afterContentId; // null mueve el contenido al inicio de la playlist
+}
@@ -2,8 +2,10 @@ package com.mediaflow.api.dto;
 
 import java.time.LocalDate;
 import java.util.List;
+import java.util.Map;
 
 import com.fasterxml.jackson.annotation.JsonProperty;
+import com.mediaflow.api.model.ContentType;
 
 import lombok.Builder;
 import lombok.Value;
@@ -27,6 +29,18 @@ public class PlayListResponse {
     @JsonProperty("user_id")
     Integer userId;
 
-    @JsonProperty("contents")
-    List<ContentResponse> contents;
+    // Resumen: los contenidos se piden paginados en GET /api/v1/playlists/{id}/contents
+    @JsonProperty("item_count")
+    Long itemCount;
+
+    @JsonProperty("total_duration_seconds")
+    Long totalDurationSeconds;
+
+    @JsonProperty("total_file_size_mb")
+    Long totalFileSizeMB;
+
+    @JsonProperty("content_types")
+    Map<ContentType, Long> contentTypes;
+
+    List<String> thumbnails;
 }
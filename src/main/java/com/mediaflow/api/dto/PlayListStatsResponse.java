@@ -0,0 +1,36 @@
+package com.mediaflow.api.dto;
+
+import java.util.Map;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.mediaflow.api.model.ContentType;
+
+import lombok.Builder;
+import lombok.Value;
+
+@Value
+@Builder
+public class PlayListStatsResponse {
+    @JsonProperty("playlist_id")
+    Integer playListId;
+
+    @JsonProperty("item_count")
+    long itemCount;
+
+    // Solo suma los videos
+    @JsonProperty("total_duration_seconds")
+    long totalDurationSeconds;
+
+    @JsonProperty("total_file_size_mb")
+    long totalFileSizeMB;
+
+    @JsonProperty("content_types")
+    Map<ContentType, Long> contentTypes;
+
+    public static PlayListStatsResponse empty(Integer playListId) {
+        return PlayListStatsResponse.builder()
+                .playListId(playListId)
+                .contentTypes(Map.of())
+                .build();
+    }
+}
@@ -0,0 +1,44 @@
+package com.mediaflow.api.dto;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+import com.mediaflow.api.exception.BadRequestException;
+import com.mediaflow.api.repository.projection.ContentSearchHit;
+
+import lombok.Value;
+
+/**
+ * Posición de paginación por keyset sobre (rank, content_id) descendente para la búsqueda de texto.
+ */
+@Value
+public class SearchCursor {
+
+    public static final SearchCursor FIRST = new SearchCursor(Float.MAX_VALUE, Integer.MAX_VALUE);
+
+    Float rank;
+    Integer contentId;
+
+    public static SearchCursor of(ContentSearchHit hit) {
+        return new SearchCursor(hit.getRank(), hit.getContentId());
+    }
+
+    public String encode() {
+        String raw = rank + "|" + contentId;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static SearchCursor decode(String token) {
+        if (token == null || token.isBlank()) {
+            return FIRST;
+        }
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            int separator = raw.lastIndexOf('|');
+            return new SearchCursor(Float.valueOf(raw.substring(0, separator)),
+                    Integer.valueOf(raw.substring(separator + 1)));
+        } catch (RuntimeException ex) {
+            throw new BadRequestException("Invalid cursor: " + token, ex);
+        }
+    }
+}
@@ -0,0 +1,40 @@
+package com.mediaflow.api.dto;
+
+import java.util.List;
+
+import org.springframework.data.domain.Slice;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+import lombok.Builder;
+import lombok.Value;
+
+@Value
+@Builder
+public class SlicePage<T> {
+    List<T> content;
+
+    int pageNumber;
+
+    int pageSize;
+
+    @JsonProperty("hasNext")
+    boolean hasNext;
+
+    @JsonProperty("hasPrevious")
+    boolean hasPrevious;
+
+    // Estimación del planner de PostgreSQL (solo si se pidió y no hay filtros)
+    Long estimatedTotal;
+
+    public static <T> SlicePage<T> from(Slice<T> slice, Long estimatedTotal) {
+        return SlicePage.<T>builder()
+                .content(slice.getContent())
+                .pageNumber(slice.getNumber())
+                .pageSize(slice.getSize())
+                .hasNext(slice.hasNext())
+                .hasPrevious(slice.hasPrevious())
+                .estimatedTotal(estimatedTotal)
+                .build();
+    }
+}
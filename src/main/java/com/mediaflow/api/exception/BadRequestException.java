@@ -0,0 +1,15 @@
+package com.mediaflow.api.exception;
+
+/**
+ * Error de validación de parámetros de la petición (cursor inválido, filtros mal formados, etc.)
+ */
+public class BadRequestException extends RuntimeException {
+
+    public BadRequestException(String message) {
+        super(message);
+    }
+
+    public BadRequestException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
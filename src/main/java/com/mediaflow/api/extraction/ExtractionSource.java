@@ -0,0 +1,34 @@
+package com.mediaflow.api.extraction;
+
+import com.mediaflow.api.model.Content;
+import com.mediaflow.api.model.ContentType;
+
+/**
+ * Datos de un contenido que recibe un extractor, copiados fuera de la sesión JPA.
+ */
+public record ExtractionSource(
+        Integer contentId,
+        ContentType contentType,
+        String format,
+        String language,
+        String title,
+        String description,
+        Integer fileSizeMB,
+        String storageUrl,
+        String thumbnailUrl,
+        String fingerprint) {
+
+    public static ExtractionSource of(Content content) {
+        return new ExtractionSource(
+                content.getContentId(),
+                content.getContentType(),
+                content.getFormat(),
+                content.getLanguage(),
+                content.getTitle(),
+                content.getDescription(),
+                content.getFileSizeMB(),
+                content.getStorageUrl(),
+                content.getThumbnailUrl(),
+                content.getFingerprint());
+    }
+}
@@ -0,0 +1,115 @@
+package com.mediaflow.api.extraction;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.mediaflow.api.model.ContentType;
+
+/**
+ * Extractor sin servicios externos: deriva etiquetas del título y la descripción. El mismo
+ * contenido produce siempre el mismo JSON, así el pipeline se puede probar y medir sin red.
+ * La latencia simulada (metadata.extraction.local.latency) permite medir el pool con una
+ * carga parecida a la de un extractor remoto.
+ */
+@Component
+public class LocalMetadataExtractor implements MetadataExtractor {
+
+    public static final String NAME = "local";
+
+    private static final int MAX_TAGS = 10;
+    private static final int MIN_TAG_LENGTH = 3;
+
+    private final ObjectMapper objectMapper;
+    private final Duration latency;
+    private final int maxConcurrency;
+
+    public LocalMetadataExtractor(ObjectMapper objectMapper,
+            @Value("${metadata.extraction.local.latency:PT0S}") Duration latency,
+            @Value("${metadata.extraction.local.max-concurrency:0}") int maxConcurrency) {
+        this.objectMapper = objectMapper;
+        this.latency = latency;
+        this.maxConcurrency = maxConcurrency;
+    }
+
+    @Override
+    public String name() {
+        return NAME;
+    }
+
+    @Override
+    public boolean supports(ContentType contentType) {
+        return true;
+    }
+
+    @Override
+    public int maxConcurrency() {
+        return maxConcurrency;
+    }
+
+    // Usa título, descripción y datos del contenido: dos reposts del mismo medio no comparten resultado
+    @Override
+    public boolean mediaDeterministic() {
+        return false;
+    }
+
+    @Override
+    public String extract(ExtractionSource source) throws Exception {
+        if (!latency.isZero()) {
+            Thread.sleep(latency);
+        }
+
+        ObjectNode result = objectMapper.createObjectNode();
+        result.put("source", NAME);
+        result.put("contentType", source.contentType() != null ? source.contentType().name() : null);
+        result.put("format", source.format());
+        result.put("language", source.language());
+        result.put("fileSizeMB", source.fileSizeMB());
+
+        ObjectNode caption = result.putObject("caption");
+        caption.put("text", source.title());
+        caption.put("confidence", 1.0);
+
+        ArrayNode tags = result.putArray("tags");
+        tags(source).forEach((name, confidence) -> tags.addObject()
+                .put("name", name)
+                .put("confidence", confidence));
+
+        return objectMapper.writeValueAsString(result);
+    }
+
+    // Palabras del título valen más que las de la descripción y suben con cada repetición
+    private Map<String, Double> tags(ExtractionSource source) {
+        Map<String, Integer> weights = new LinkedHashMap<>();
+        addWords(weights, source.title(), 3);
+        addWords(weights, source.description(), 1);
+
+        Map<String, Double> tags = new LinkedHashMap<>();
+        if (source.contentType() != null) {
+            tags.put(source.contentType().name().toLowerCase(Locale.ROOT), 1.0);
+        }
+        weights.entrySet().stream()
+                .sorted(Map.Entry.<String, Integer>comparingByValue().reversed())
+                .limit(MAX_TAGS - tags.size())
+                .forEach(e -> tags.putIfAbsent(e.getKey(), Math.min(99, 50 + 10 * e.getValue()) / 100.0));
+        return tags;
+    }
+
+    private static void addWords(Map<String, Integer> weights, String text, int weight) {
+        if (text == null) {
+            return;
+        }
+        for (String word : text.toLowerCase(Locale.ROOT).split("[^\\p{L}\\p{N}]+")) {
+            if (word.length() >= MIN_TAG_LENGTH) {
+                weights.merge(word, weight, Integer::sum);
+            }
+        }
+    }
+}
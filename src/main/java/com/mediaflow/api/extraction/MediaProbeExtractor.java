@@ -0,0 +1,417 @@
+package com.mediaflow.api.extraction;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.mediaflow.api.model.ContentType;
+
+/**
+ * Extractor que depende solo del medio: lee por rangos HTTP el comienzo del archivo en storageUrl
+ * (y en MP4/MOV la caja moov, esté donde esté) y devuelve formato, dimensiones, duración y tamaño.
+ * No usa título ni descripción, así su resultado se guarda por huella y se reutiliza para otros
+ * contenidos con el mismo medio. Solo consulta los hosts de metadata.extraction.probe.allowed-hosts.
+ */
+@Component
+public class MediaProbeExtractor implements MetadataExtractor {
+
+    public static final String NAME = "probe";
+
+    // Alcanza para la cabecera de PNG, GIF, WebP y JPEG y para las primeras cajas de un MP4
+    private static final int HEAD_BYTES = 64 * 1024;
+    // Cajas de primer nivel revisadas buscando moov
+    private static final int MAX_TOP_LEVEL_BOXES = 32;
+
+    private final ObjectMapper objectMapper;
+    private final Set<String> allowedHosts;
+    private final long maxBytes;
+    private final Duration timeout;
+    private final int maxConcurrency;
+    private final HttpClient httpClient;
+
+    public MediaProbeExtractor(ObjectMapper objectMapper,
+            @Value("${metadata.extraction.probe.allowed-hosts:}") String allowedHosts,
+            @Value("${metadata.extraction.probe.max-bytes:4194304}") long maxBytes,
+            @Value("${metadata.extraction.probe.timeout:PT10S}") Duration timeout,
+            @Value("${metadata.extraction.probe.max-concurrency:0}") int maxConcurrency) {
+        this.objectMapper = objectMapper;
+        this.allowedHosts = Arrays.stream(allowedHosts.split(","))
+                .map(host -> host.trim().toLowerCase(Locale.ROOT))
+                .filter(host -> !host.isEmpty())
+                .collect(Collectors.toSet());
+        this.maxBytes = maxBytes;
+        this.timeout = timeout;
+        this.maxConcurrency = maxConcurrency;
+        // Sin redirecciones: podrían llevar a un host fuera de la lista
+        this.httpClient = HttpClient.newBuilder()
+                .connectTimeout(timeout)
+                .followRedirects(HttpClient.Redirect.NEVER)
+                .build();
+    }
+
+    @Override
+    public String name() {
+        return NAME;
+    }
+
+    @Override
+    public boolean supports(ContentType contentType) {
+        return true;
+    }
+
+    @Override
+    public int maxConcurrency() {
+        return maxConcurrency;
+    }
+
+    // Solo lee el archivo: dos contenidos con la misma storageUrl obtienen el mismo resultado
+    @Override
+    public boolean mediaDeterministic() {
+        return true;
+    }
+
+    @Override
+    public String extract(ExtractionSource source) throws Exception {
+        return objectMapper.writeValueAsString(probe(new HttpRangeReader(allowedUri(source.storageUrl()))));
+    }
+
+    /**
+     * Analiza el medio expuesto por reader. Los campos que el formato no informa quedan en null.
+     */
+    ObjectNode probe(RangeReader reader) throws IOException {
+        byte[] head = reader.read(0, HEAD_BYTES);
+        MediaInfo info = probeImage(head);
+        if (info == null) {
+            info = probeIsoMedia(head, reader);
+        }
+        if (info == null) {
+            info = new MediaInfo(null, null, null, null);
+        }
+
+        ObjectNode result = objectMapper.createObjectNode();
+        result.put("source", NAME);
+        result.put("format", info.format());
+        result.put("width", info.width());
+        result.put("height", info.height());
+        result.put("durationSeconds", info.durationSeconds());
+        result.put("sizeBytes", reader.size());
+        return result;
+    }
+
+    private URI allowedUri(String storageUrl) {
+        if (storageUrl == null) {
+            throw new IllegalArgumentException("Content has no storage URL");
+        }
+        URI uri = URI.create(storageUrl);
+        String scheme = uri.getScheme() != null ? uri.getScheme().toLowerCase(Locale.ROOT) : "";
+        String host = uri.getHost() != null ? uri.getHost().toLowerCase(Locale.ROOT) : "";
+        if (!(scheme.equals("http") || scheme.equals("https")) || !allowedHosts.contains(host)) {
+            throw new IllegalArgumentException("Storage host not allowed for probing: " + host);
+        }
+        return uri;
+    }
+
+    // ===== Imágenes: las dimensiones están en la cabecera =====
+
+    private static MediaInfo probeImage(byte[] head) {
+        if (startsWith(head, 0, new byte[] { (byte) 0x89, 'P', 'N', 'G', '\r', '\n', 0x1A, '\n' })
+                && head.length >= 24) {
+            return new MediaInfo("png", readInt(head, 16), readInt(head, 20), null);
+        }
+        if ((startsWith(head, 0, ascii("GIF87a")) || startsWith(head, 0, ascii("GIF89a"))) && head.length >= 10) {
+            return new MediaInfo("gif", readShortLE(head, 6), readShortLE(head, 8), null);
+        }
+        if (startsWith(head, 0, ascii("RIFF")) && startsWith(head, 8, ascii("WEBP"))) {
+            return probeWebp(head);
+        }
+        if (head.length >= 3 && (head[0] & 0xFF) == 0xFF && (head[1] & 0xFF) == 0xD8 && (head[2] & 0xFF) == 0xFF) {
+            return probeJpeg(head);
+        }
+        return null;
+    }
+
+    private static MediaInfo probeWebp(byte[] head) {
+        if (startsWith(head, 12, ascii("VP8X")) && head.length >= 30) {
+            return new MediaInfo("webp", 1 + readInt24LE(head, 24), 1 + readInt24LE(head, 27), null);
+        }
+        if (startsWith(head, 12, ascii("VP8 ")) && head.length >= 30) {
+            return new MediaInfo("webp", readShortLE(head, 26) & 0x3FFF, readShortLE(head, 28) & 0x3FFF, null);
+        }
+        if (startsWith(head, 12, ascii("VP8L")) && head.length >= 25) {
+            int bits = readInt32LE(head, 21);
+            return new MediaInfo("webp", 1 + (bits & 0x3FFF), 1 + ((bits >>> 14) & 0x3FFF), null);
+        }
+        return new MediaInfo("webp", null, null, null);
+    }
+
+    // Recorre los segmentos hasta el primer SOF (marcadores C0-CF salvo C4, C8 y CC)
+    private static MediaInfo probeJpeg(byte[] head) {
+        int offset = 2;
+        while (offset + 9 < head.length && (head[offset] & 0xFF) == 0xFF) {
+            int marker = head[offset + 1] & 0xFF;
+            if (marker == 0xFF) {
+                offset++;
+                continue;
+            }
+            if (marker == 0x01 || (marker >= 0xD0 && marker <= 0xD7)) {
+                offset += 2;
+                continue;
+            }
+            if (marker >= 0xC0 && marker <= 0xCF && marker != 0xC4 && marker != 0xC8 && marker != 0xCC) {
+                return new MediaInfo("jpeg", readShort(head, offset + 7), readShort(head, offset + 5), null);
+            }
+            if (marker == 0xDA) {
+                break;
+            }
+            offset += 2 + readShort(head, offset + 2);
+        }
+        return new MediaInfo("jpeg", null, null, null);
+    }
+
+    // ===== MP4 / MOV: duración en mvhd y dimensiones en el tkhd de la primera pista de video =====
+
+    private MediaInfo probeIsoMedia(byte[] head, RangeReader reader) throws IOException {
+        if (head.length < 12 || !startsWith(head, 4, ascii("ftyp"))) {
+            return null;
+        }
+        String format = startsWith(head, 8, ascii("qt  ")) ? "mov" : "mp4";
+
+        long offset = 0;
+        for (int i = 0; i < MAX_TOP_LEVEL_BOXES; i++) {
+            byte[] header = offset + 16 <= head.length
+                    ? Arrays.copyOfRange(head, (int) offset, (int) offset + 16)
+                    : reader.read(offset, 16);
+            if (header.length < 8) {
+                break;
+            }
+            // Una caja de tamaño 0 llega hasta el final del archivo: no hay nada después
+            long size = boxSize(header, 0, -1);
+            if (size < 8) {
+                break;
+            }
+            if (startsWith(header, 4, ascii("moov"))) {
+                if (size > maxBytes) {
+                    break;
+                }
+                byte[] moov = offset + size <= head.length
+                        ? Arrays.copyOfRange(head, (int) offset, (int) (offset + size))
+                        : reader.read(offset, (int) size);
+                return probeMoov(format, moov);
+            }
+            offset += size;
+        }
+        // Sin moov al alcance: el formato se conoce, el resto no
+        return new MediaInfo(format, null, null, null);
+    }
+
+    private static MediaInfo probeMoov(String format, byte[] moov) {
+        Integer width = null;
+        Integer height = null;
+        Double duration = null;
+        int end = moov.length;
+        for (int offset = headerLength(moov, 0); offset + 8 <= end; ) {
+            long size = boxSize(moov, offset, end - offset);
+            if (size < 8 || offset + size > end) {
+                break;
+            }
+            int body = offset + headerLength(moov, offset);
+            int boxEnd = (int) (offset + size);
+            if (startsWith(moov, offset + 4, ascii("mvhd"))) {
+                duration = mvhdDuration(moov, body, boxEnd);
+            } else if (startsWith(moov, offset + 4, ascii("trak")) && width == null) {
+                int[] dimensions = trackDimensions(moov, body, boxEnd);
+                if (dimensions != null) {
+                    width = dimensions[0];
+                    height = dimensions[1];
+                }
+            }
+            offset = boxEnd;
+        }
+        return new MediaInfo(format, width, height, duration);
+    }
+
+    private static Double mvhdDuration(byte[] data, int body, int end) {
+        boolean v1 = body < end && data[body] == 1;
+        if (body + (v1 ? 32 : 20) > end) {
+            return null;
+        }
+        long timescale = readInt(data, body + (v1 ? 20 : 12)) & 0xFFFFFFFFL;
+        long duration = v1 ? readLong(data, body + 24) : readInt(data, body + 16) & 0xFFFFFFFFL;
+        // Duración desconocida: todos los bits en 1
+        if (timescale == 0 || duration == (v1 ? -1L : 0xFFFFFFFFL)) {
+            return null;
+        }
+        return Math.round(duration * 1000.0 / timescale) / 1000.0;
+    }
+
+    // Ancho y alto (16.16) del tkhd de la pista; null si es de audio (0 x 0)
+    private static int[] trackDimensions(byte[] data, int from, int end) {
+        for (int offset = from; offset + 8 <= end; ) {
+            long size = boxSize(data, offset, end - offset);
+            if (size < 8 || offset + size > end) {
+                return null;
+            }
+            if (startsWith(data, offset + 4, ascii("tkhd"))) {
+                int body = offset + headerLength(data, offset);
+                if (body >= offset + size) {
+                    return null;
+                }
+                int widthAt = body + (data[body] == 1 ? 88 : 76);
+                if (widthAt + 8 > offset + size) {
+                    return null;
+                }
+                int width = readInt(data, widthAt) >>> 16;
+                int height = readInt(data, widthAt + 4) >>> 16;
+                return width > 0 && height > 0 ? new int[] { width, height } : null;
+            }
+            offset += (int) size;
+        }
+        return null;
+    }
+
+    // Tamaño de la caja en offset: 1 indica tamaño de 64 bits, 0 que llega hasta el final
+    private static long boxSize(byte[] data, int offset, long remaining) {
+        long size = readInt(data, offset) & 0xFFFFFFFFL;
+        if (size == 1) {
+            return offset + 16 <= data.length ? readLong(data, offset + 8) : -1;
+        }
+        return size == 0 ? remaining : size;
+    }
+
+    private static int headerLength(byte[] data, int offset) {
+        return readInt(data, offset) == 1 ? 16 : 8;
+    }
+
+    // ===== Lectura de enteros =====
+
+    private static boolean startsWith(byte[] data, int offset, byte[] prefix) {
+        if (offset + prefix.length > data.length) {
+            return false;
+        }
+        return Arrays.equals(data, offset, offset + prefix.length, prefix, 0, prefix.length);
+    }
+
+    private static byte[] ascii(String text) {
+        return text.getBytes(StandardCharsets.US_ASCII);
+    }
+
+    private static int readShort(byte[] data, int offset) {
+        return (data[offset] & 0xFF) << 8 | data[offset + 1] & 0xFF;
+    }
+
+    private static int readShortLE(byte[] data, int offset) {
+        return (data[offset + 1] & 0xFF) << 8 | data[offset] & 0xFF;
+    }
+
+    private static int readInt24LE(byte[] data, int offset) {
+        return (data[offset + 2] & 0xFF) << 16 | readShortLE(data, offset);
+    }
+
+    private static int readInt32LE(byte[] data, int offset) {
+        return (data[offset + 3] & 0xFF) << 24 | readInt24LE(data, offset);
+    }
+
+    private static int readInt(byte[] data, int offset) {
+        return readShort(data, offset) << 16 | readShort(data, offset + 2);
+    }
+
+    private static long readLong(byte[] data, int offset) {
+        return (long) readInt(data, offset) << 32 | readInt(data, offset + 4) & 0xFFFFFFFFL;
+    }
+
+    private record MediaInfo(String format, Integer width, Integer height, Double durationSeconds) {
+    }
+
+    /**
+     * Lectura por rangos del medio. size es el tamaño total si el origen lo informó.
+     */
+    interface RangeReader {
+
+        // Devuelve menos bytes de los pedidos si el medio termina antes
+        byte[] read(long offset, int length) throws IOException;
+
+        Long size();
+    }
+
+    // Peticiones Range contra storageUrl; el total leído no pasa de metadata.extraction.probe.max-bytes
+    private class HttpRangeReader implements RangeReader {
+
+        private final URI uri;
+        private long budget = maxBytes;
+        private Long size;
+
+        HttpRangeReader(URI uri) {
+            this.uri = uri;
+        }
+
+        @Override
+        public byte[] read(long offset, int length) throws IOException {
+            HttpRequest request = HttpRequest.newBuilder(uri)
+                    .timeout(timeout)
+                    .header("Range", "bytes=" + offset + "-" + (offset + length - 1))
+                    .GET()
+                    .build();
+            HttpResponse<InputStream> response;
+            try {
+                response = httpClient.send(request, HttpResponse.BodyHandlers.ofInputStream());
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                throw new IOException("Probe interrupted", ex);
+            }
+
+            try (InputStream body = response.body()) {
+                int status = response.statusCode();
+                if (status == 416) {
+                    return new byte[0];
+                }
+                if (status != 206 && status != 200) {
+                    throw new IOException("Probe of " + uri.getHost() + " returned HTTP " + status);
+                }
+                // Un 200 ignora el rango: hay que descartar los bytes anteriores a offset
+                long skip = status == 200 ? offset : 0;
+                if (skip + length > budget) {
+                    throw new IOException("Probe read limit reached (" + maxBytes + " bytes)");
+                }
+                body.skipNBytes(skip);
+                byte[] bytes = body.readNBytes(length);
+                budget -= skip + bytes.length;
+                if (size == null) {
+                    size = status == 206 ? totalFromContentRange(response) : contentLength(response);
+                }
+                return bytes;
+            }
+        }
+
+        @Override
+        public Long size() {
+            return size;
+        }
+
+        // Content-Range: bytes 0-65535/1048576
+        private Long totalFromContentRange(HttpResponse<?> response) {
+            return response.headers().firstValue("Content-Range")
+                    .map(value -> value.substring(value.lastIndexOf('/') + 1))
+                    .filter(total -> !total.equals("*"))
+                    .map(Long::valueOf)
+                    .orElse(null);
+        }
+
+        private Long contentLength(HttpResponse<?> response) {
+            return response.headers().firstValueAsLong("Content-Length").stream().boxed().findFirst().orElse(null);
+        }
+    }
+}
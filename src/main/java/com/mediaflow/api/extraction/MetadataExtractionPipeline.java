@@ -0,0 +1,386 @@
+package com.mediaflow.api.extraction;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.mediaflow.api.cache.ContentResponseCache;
+import com.mediaflow.api.dto.ExtractionStatsResponse;
+import com.mediaflow.api.model.ContentType;
+import com.mediaflow.api.repository.ContentRepository;
+import com.mediaflow.api.repository.ExtractionResultRepository;
+import com.mediaflow.api.repository.MetadataRepository;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Extracción de metadata en segundo plano. Cada trabajo corre en un hilo virtual; el número de
+ * trabajos en cola o en curso está acotado (queue-capacity) y cuando se llena enqueue rechaza en
+ * vez de acumular. Las llamadas a cada extractor están limitadas por su propio semáforo, así un
+ * servicio externo lento no recibe más peticiones simultáneas de las que admite.
+ * <p>
+ * Los contenidos sin fila en metadata son el registro durable de lo pendiente: un barrido
+ * periódico encola los que quedaron fuera (cola llena, reinicio del proceso, fallos).
+ */
+@Slf4j
+@Component
+public class MetadataExtractionPipeline {
+
+    public enum Status {
+        QUEUED,
+        ALREADY_QUEUED,
+        REJECTED
+    }
+
+    private final Map<String, MetadataExtractor> extractors = new LinkedHashMap<>();
+    private final Map<String, Semaphore> extractorLimits = new ConcurrentHashMap<>();
+    private final ContentRepository contentRepository;
+    private final MetadataRepository metadataRepository;
+    private final ExtractionResultRepository extractionResultRepository;
+    private final ContentResponseCache contentResponseCache;
+    private final TransactionTemplate transactionTemplate;
+    private final TransactionTemplate readOnlyTransaction;
+    private final String defaultExtractor;
+    private final boolean extractOnCreate;
+    private final boolean reuseResults;
+    private final int maxAttempts;
+    private final Duration retryBackoff;
+
+    // Último content_id revisado por el barrido; vuelve a 0 al llegar al final
+    private final AtomicInteger sweepCursor = new AtomicInteger();
+
+    private final ExecutorService executor = Executors.newThreadPerTaskExecutor(
+            Thread.ofVirtual().name("metadata-extraction-", 0).factory());
+
+    // Un permiso por trabajo en cola o en curso
+    private final Semaphore capacity;
+    private final Set<Integer> pending = ConcurrentHashMap.newKeySet();
+    // Extracciones en curso por (huella, extractor): otro trabajo del mismo medio espera su resultado
+    private final Map<String, CompletableFuture<String>> running = new ConcurrentHashMap<>();
+
+    private final AtomicLong submitted = new AtomicLong();
+    private final AtomicLong succeeded = new AtomicLong();
+    private final AtomicLong failed = new AtomicLong();
+    private final AtomicLong retried = new AtomicLong();
+    private final AtomicLong rejected = new AtomicLong();
+    private final AtomicLong cacheHits = new AtomicLong();
+    private final AtomicLong cacheMisses = new AtomicLong();
+
+    public MetadataExtractionPipeline(List<MetadataExtractor> extractors,
+            ContentRepository contentRepository,
+            MetadataRepository metadataRepository,
+            ExtractionResultRepository extractionResultRepository,
+            ContentResponseCache contentResponseCache,
+            PlatformTransactionManager transactionManager,
+            @Value("${metadata.extraction.extractor:local}") String defaultExtractor,
+            @Value("${metadata.extraction.on-create:true}") boolean extractOnCreate,
+            @Value("${metadata.extraction.reuse-results:true}") boolean reuseResults,
+            @Value("${metadata.extraction.queue-capacity:1000}") int queueCapacity,
+            @Value("${metadata.extraction.max-concurrency:8}") int maxConcurrency,
+            @Value("${metadata.extraction.max-attempts:3}") int maxAttempts,
+            @Value("${metadata.extraction.retry-backoff:PT1S}") Duration retryBackoff) {
+        for (MetadataExtractor extractor : extractors) {
+            this.extractors.put(extractor.name(), extractor);
+            int limit = extractor.maxConcurrency() > 0 ? extractor.maxConcurrency() : maxConcurrency;
+            this.extractorLimits.put(extractor.name(), new Semaphore(limit, true));
+        }
+        this.contentRepository = contentRepository;
+        this.metadataRepository = metadataRepository;
+        this.extractionResultRepository = extractionResultRepository;
+        this.contentResponseCache = contentResponseCache;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.defaultExtractor = defaultExtractor;
+        this.extractOnCreate = extractOnCreate;
+        this.reuseResults = reuseResults;
+        this.capacity = new Semaphore(queueCapacity);
+        this.maxAttempts = Math.max(1, maxAttempts);
+        this.retryBackoff = retryBackoff;
+    }
+
+    /**
+     * Encola la extracción sin esperar: si la cola está llena devuelve REJECTED.
+     */
+    public Status enqueue(Integer contentId) {
+        return enqueue(contentId, Duration.ZERO);
+    }
+
+    /**
+     * Encola la extracción esperando hasta wait a que haya lugar en la cola. Un productor de
+     * muchos trabajos avanza entonces al ritmo de los extractores.
+     */
+    public Status enqueue(Integer contentId, Duration wait) {
+        if (!pending.add(contentId)) {
+            return Status.ALREADY_QUEUED;
+        }
+        if (!acquire(wait)) {
+            pending.remove(contentId);
+            reject(contentId, "queue full");
+            return Status.REJECTED;
+        }
+        try {
+            executor.execute(() -> run(contentId));
+        } catch (RejectedExecutionException ex) {
+            pending.remove(contentId);
+            capacity.release();
+            reject(contentId, "pipeline shutting down");
+            return Status.REJECTED;
+        }
+        submitted.incrementAndGet();
+        return Status.QUEUED;
+    }
+
+    /**
+     * Encola la extracción de un contenido recién creado cuando la transacción actual confirma,
+     * para que el trabajo vea la fila.
+     */
+    public void onContentCreated(Integer contentId) {
+        if (!extractOnCreate) {
+            return;
+        }
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            enqueue(contentId);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                enqueue(contentId);
+            }
+        });
+    }
+
+    /**
+     * Encola contenidos ya confirmados (creación masiva) sin esperar: la petición no se frena por
+     * la cola y los rechazados quedan sin metadata hasta que los recoja el barrido.
+     */
+    public void onContentsCreated(Collection<Integer> contentIds) {
+        if (!extractOnCreate) {
+            return;
+        }
+        for (Integer contentId : contentIds) {
+            enqueue(contentId);
+        }
+    }
+
+    /**
+     * Encola contenidos sin metadata, hasta el lugar libre en la cola, avanzando por content_id.
+     * Recupera los trabajos rechazados o perdidos; los que vuelven a fallar se reintentan en la
+     * siguiente vuelta.
+     */
+    @Scheduled(fixedDelayString = "${metadata.extraction.sweep-interval:PT1M}",
+            initialDelayString = "${metadata.extraction.sweep-interval:PT1M}")
+    public void sweep() {
+        if (!extractOnCreate) {
+            return;
+        }
+        int limit = capacity.availablePermits();
+        if (limit == 0) {
+            return;
+        }
+        int after = sweepCursor.get();
+        List<Integer> contentIds = readOnlyTransaction.execute(
+                status -> metadataRepository.findContentIdsWithoutMetadata(after, limit));
+        if (contentIds == null || contentIds.isEmpty()) {
+            sweepCursor.set(0);
+            return;
+        }
+        for (Integer contentId : contentIds) {
+            if (enqueue(contentId) == Status.REJECTED) {
+                // Se retoma desde aquí en el próximo barrido
+                sweepCursor.set(contentId - 1);
+                return;
+            }
+        }
+        sweepCursor.set(contentIds.size() < limit ? 0 : contentIds.get(contentIds.size() - 1));
+        log.debug("Metadata sweep queued {} contents without metadata", contentIds.size());
+    }
+
+    public ExtractionStatsResponse stats() {
+        long hits = cacheHits.get();
+        long misses = cacheMisses.get();
+        return ExtractionStatsResponse.builder()
+                .inFlight(pending.size())
+                .submitted(submitted.get())
+                .succeeded(succeeded.get())
+                .failed(failed.get())
+                .retried(retried.get())
+                .rejected(rejected.get())
+                .reuseActive(reuseActive())
+                .cacheHits(hits)
+                .cacheMisses(misses)
+                .cacheHitRate(hits + misses == 0 ? 0 : (double) hits / (hits + misses))
+                .build();
+    }
+
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        executor.shutdown();
+        if (!executor.awaitTermination(10, TimeUnit.SECONDS)) {
+            executor.shutdownNow();
+        }
+    }
+
+    private void run(Integer contentId) {
+        try {
+            ExtractionSource source = readOnlyTransaction.execute(status -> contentRepository.findById(contentId)
+                    .map(ExtractionSource::of)
+                    .orElse(null));
+            // El contenido se eliminó mientras esperaba en la cola
+            if (source == null) {
+                return;
+            }
+            MetadataExtractor extractor = extractorFor(source.contentType());
+            if (extractor == null) {
+                return;
+            }
+
+            boolean reuse = reuseResults && extractor.mediaDeterministic() && source.fingerprint() != null;
+            if (reuse && copyStoredResult(contentId, extractor)) {
+                cacheHits.incrementAndGet();
+                succeeded.incrementAndGet();
+                return;
+            }
+
+            String result = reuse ? extractShared(extractor, source) : extract(extractor, source);
+            transactionTemplate.executeWithoutResult(status -> {
+                if (reuse) {
+                    extractionResultRepository.saveIfAbsent(source.fingerprint(), extractor.name(), result);
+                }
+                // Sin fila si el contenido se eliminó durante la extracción
+                metadataRepository.upsert(contentId, extractor.name(), result, LocalDate.now());
+                contentResponseCache.evict(contentId);
+            });
+            succeeded.incrementAndGet();
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            failed.incrementAndGet();
+        } catch (Exception ex) {
+            failed.incrementAndGet();
+            log.warn("Metadata extraction failed for content {}", contentId, ex);
+        } finally {
+            // Primero el permiso: cuando inFlight llega a 0 la cola ya tiene lugar
+            capacity.release();
+            pending.remove(contentId);
+        }
+    }
+
+    // El medio ya se analizó con este extractor: la metadata se copia en la base
+    private boolean copyStoredResult(Integer contentId, MetadataExtractor extractor) {
+        return Boolean.TRUE.equals(transactionTemplate.execute(status -> {
+            boolean copied = metadataRepository.copyFromExtractionResult(contentId, extractor.name()).isPresent();
+            if (copied) {
+                contentResponseCache.evict(contentId);
+            }
+            return copied;
+        }));
+    }
+
+    // Si ya hay una extracción en curso del mismo medio se espera su resultado en vez de repetirla
+    private String extractShared(MetadataExtractor extractor, ExtractionSource source) throws Exception {
+        String key = source.fingerprint() + "|" + extractor.name();
+        CompletableFuture<String> mine = new CompletableFuture<>();
+        CompletableFuture<String> current = running.putIfAbsent(key, mine);
+        if (current != null) {
+            try {
+                String result = current.get();
+                cacheHits.incrementAndGet();
+                return result;
+            } catch (ExecutionException ex) {
+                throw ex.getCause() instanceof Exception cause ? cause : ex;
+            }
+        }
+
+        cacheMisses.incrementAndGet();
+        try {
+            String result = extract(extractor, source);
+            mine.complete(result);
+            return result;
+        } catch (Exception ex) {
+            mine.completeExceptionally(ex);
+            throw ex;
+        } finally {
+            running.remove(key, mine);
+        }
+    }
+
+    // El permiso del extractor se libera durante la espera entre intentos
+    private String extract(MetadataExtractor extractor, ExtractionSource source) throws Exception {
+        Semaphore limit = extractorLimits.get(extractor.name());
+        for (int attempt = 1;; attempt++) {
+            limit.acquire();
+            try {
+                return extractor.extract(source);
+            } catch (InterruptedException ex) {
+                throw ex;
+            } catch (Exception ex) {
+                if (attempt >= maxAttempts) {
+                    throw ex;
+                }
+                retried.incrementAndGet();
+            } finally {
+                limit.release();
+            }
+            Thread.sleep(retryBackoff.multipliedBy(1L << (attempt - 1)));
+        }
+    }
+
+    // El extractor configurado si admite el tipo; si no, el primero que lo admita
+    private MetadataExtractor extractorFor(ContentType contentType) {
+        MetadataExtractor preferred = extractors.get(defaultExtractor);
+        if (preferred != null && preferred.supports(contentType)) {
+            return preferred;
+        }
+        return extractors.values().stream()
+                .filter(extractor -> extractor.supports(contentType))
+                .findFirst()
+                .orElse(null);
+    }
+
+    // La reutilización solo actúa si el extractor configurado depende solo del medio
+    private boolean reuseActive() {
+        MetadataExtractor preferred = extractors.get(defaultExtractor);
+        return reuseResults && preferred != null && preferred.mediaDeterministic();
+    }
+
+    // El contenido queda sin metadata y lo retoma el barrido
+    private void reject(Integer contentId, String reason) {
+        rejected.incrementAndGet();
+        log.warn("Metadata extraction rejected for content {} ({}); left for the sweep", contentId, reason);
+    }
+
+    private boolean acquire(Duration wait) {
+        try {
+            return wait.isZero()
+                    ? capacity.tryAcquire()
+                    : capacity.tryAcquire(wait.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+}
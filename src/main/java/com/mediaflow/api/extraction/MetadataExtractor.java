@@ -0,0 +1,40 @@
+package com.mediaflow.api.extraction;
+
+import com.mediaflow.api.model.ContentType;
+
+/**
+ * Extractor de metadata de un contenido. Cada implementación es un bean; el pipeline elige una
+ * por contenido (ver metadata.extraction.extractor) y guarda su resultado en Metadata.resultJson.
+ */
+public interface MetadataExtractor {
+
+    /**
+     * Nombre que se guarda en Metadata.extractor. También es la clave de los resultados guardados
+     * por medio: si la salida del extractor cambia, el nombre también debe cambiar.
+     */
+    String name();
+
+    boolean supports(ContentType contentType);
+
+    /**
+     * Llamadas simultáneas permitidas a este extractor; 0 usa metadata.extraction.max-concurrency.
+     */
+    default int maxConcurrency() {
+        return 0;
+    }
+
+    /**
+     * true si el resultado depende solo del medio (el archivo en storageUrl): entonces se guarda
+     * por huella y se reutiliza para otros contenidos con el mismo medio. Un extractor que lee
+     * título, descripción u otros datos del contenido debe devolver false.
+     */
+    default boolean mediaDeterministic() {
+        return false;
+    }
+
+    /**
+     * Devuelve el resultado como documento JSON. Cualquier excepción se reintenta hasta
+     * metadata.extraction.max-attempts.
+     */
+    String extract(ExtractionSource source) throws Exception;
+}
@@ -1,27 +1,37 @@
 package com.mediaflow.api.graphql;
 
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
 
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.graphql.data.method.annotation.Argument;
+import org.springframework.graphql.data.method.annotation.BatchMapping;
 import org.springframework.graphql.data.method.annotation.MutationMapping;
 import org.springframework.graphql.data.method.annotation.QueryMapping;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.stereotype.Controller;
 
+import com.mediaflow.api.dto.BulkCreateResponse;
 import com.mediaflow.api.dto.CategoryResponse;
 import com.mediaflow.api.dto.ContentRequest;
 import com.mediaflow.api.dto.ContentResponse;
+import com.mediaflow.api.dto.PageMode;
 import com.mediaflow.api.graphql.input.ContentInput;
 import com.mediaflow.api.graphql.input.ContentPage;
 import com.mediaflow.api.model.Content;
 import com.mediaflow.api.model.ContentType;
 import com.mediaflow.api.repository.ContentRepository;
 import com.mediaflow.api.service.AuthenticationService;
+import com.mediaflow.api.service.ContentBulkService;
 import com.mediaflow.api.service.ContentService;
+import com.mediaflow.api.service.MetadataService;
 
+import graphql.schema.DataFetchingFieldSelectionSet;
 import jakarta.persistence.EntityNotFoundException;
 import lombok.RequiredArgsConstructor;
 
@@ -30,66 +40,155 @@ import lombok.RequiredArgsConstructor;
 public class ContentGraphQLController {
 
     private final ContentService contentService;
+    private final ContentBulkService contentBulkService;
     private final AuthenticationService authenticationService;
     private final ContentRepository contentRepository;
+    private final MetadataService metadataService;
 
     @QueryMapping
     @PreAuthorize("hasAnyRole('VIEWER', 'CREATOR', 'ADMIN')")
-    public ContentPage allContents(@Argument int page, @Argument int size) {
+    public ContentPage allContents(@Argument int page, @Argument int size,
+            @Argument PageMode mode, @Argument String after, @Argument boolean estimateTotal,
+            DataFetchingFieldSelectionSet selectionSet) {
+        if (mode == PageMode.CURSOR) {
+            return ContentPage.from(contentService.findKeyset(null, null, after, size, false), after != null);
+        }
+        if (mode == PageMode.SLICE || !needsCount(selectionSet)) {
+            Long estimatedTotal = estimateTotal && selectionSet.contains("estimatedTotal")
+                    ? contentService.estimateTotal() : null;
+            return ContentPage.from(contentService.findSlice(null, null, PageRequest.of(page, size), false),
+                    estimatedTotal);
+        }
         Pageable pageable = PageRequest.of(page, size);
-        Page<ContentResponse> result = contentService.findAll(pageable);
+        Page<ContentResponse> result = contentService.findAll(pageable, false);
         return ContentPage.from(result);
     }
 
     @QueryMapping
     @PreAuthorize("hasAnyRole('VIEWER', 'CREATOR', 'ADMIN')")
-    public ContentPage contentsByType(@Argument ContentType contentType, @Argument int page, @Argument int size) {
+    public ContentPage contentsByType(@Argument ContentType contentType, @Argument int page, @Argument int size,
+            @Argument PageMode mode, @Argument String after,
+            DataFetchingFieldSelectionSet selectionSet) {
+        if (mode == PageMode.CURSOR) {
+            return ContentPage.from(contentService.findKeyset(null, contentType, after, size, false), after != null);
+        }
+        if (mode == PageMode.SLICE || !needsCount(selectionSet)) {
+            return ContentPage.from(contentService.findSlice(null, contentType, PageRequest.of(page, size), false),
+                    null);
+        }
         Pageable pageable = PageRequest.of(page, size);
-        Page<ContentResponse> result = contentService.findByContentType(contentType, pageable);
+        Page<ContentResponse> result = contentService.findByContentType(contentType, pageable, false);
         return ContentPage.from(result);
     }
 
     @QueryMapping
     @PreAuthorize("hasAnyRole('VIEWER', 'CREATOR', 'ADMIN')")
-    public ContentPage myContents(@Argument int page, @Argument int size) {
+    public ContentPage myContents(@Argument int page, @Argument int size,
+            @Argument PageMode mode, @Argument String after,
+            DataFetchingFieldSelectionSet selectionSet) {
         Integer currentUserId = authenticationService.getCurrentUserId();
+        if (mode == PageMode.CURSOR) {
+            return ContentPage.from(contentService.findKeyset(currentUserId, null, after, size, false), after != null);
+        }
+        if (mode == PageMode.SLICE || !needsCount(selectionSet)) {
+            return ContentPage.from(contentService.findSlice(currentUserId, null, PageRequest.of(page, size), false),
+                    null);
+        }
         Pageable pageable = PageRequest.of(page, size);
-        Page<ContentResponse> result = contentService.findByUserFiles(currentUserId, pageable);
+        Page<ContentResponse> result = contentService.findByUserFiles(currentUserId, pageable, false);
         return ContentPage.from(result);
     }
 
     @QueryMapping
     @PreAuthorize("hasAnyRole('VIEWER', 'CREATOR', 'ADMIN')")
-    public ContentPage myContentsByType(@Argument ContentType contentType, @Argument int page, @Argument int size) {
+    public ContentPage myContentsByType(@Argument ContentType contentType, @Argument int page, @Argument int size,
+            @Argument PageMode mode, @Argument String after,
+            DataFetchingFieldSelectionSet selectionSet) {
         Integer currentUserId = authenticationService.getCurrentUserId();
+        if (mode == PageMode.CURSOR) {
+            return ContentPage.from(contentService.findKeyset(currentUserId, contentType, after, size, false),
+                    after != null);
+        }
+        if (mode == PageMode.SLICE || !needsCount(selectionSet)) {
+            return ContentPage.from(
+                    contentService.findSlice(currentUserId, contentType, PageRequest.of(page, size), false), null);
+        }
         Pageable pageable = PageRequest.of(page, size);
-        Page<ContentResponse> result = contentService.findByUserContentType(currentUserId, contentType, pageable);
+        Page<ContentResponse> result = contentService.findByUserContentType(currentUserId, contentType,
+                pageable, false);
         return ContentPage.from(result);
     }
 
     @QueryMapping
     @PreAuthorize("hasAnyRole('VIEWER', 'CREATOR', 'ADMIN')")
-    public ContentPage userContents(@Argument Integer userId, @Argument int page, @Argument int size) {
+    public ContentPage userContents(@Argument Integer userId, @Argument int page, @Argument int size,
+            @Argument PageMode mode, @Argument String after,
+            DataFetchingFieldSelectionSet selectionSet) {
+        if (mode == PageMode.CURSOR) {
+            return ContentPage.from(contentService.findKeyset(userId, null, after, size, false), after != null);
+        }
+        if (mode == PageMode.SLICE || !needsCount(selectionSet)) {
+            return ContentPage.from(contentService.findSlice(userId, null, PageRequest.of(page, size), false), null);
+        }
         Pageable pageable = PageRequest.of(page, size);
-        Page<ContentResponse> result = contentService.findByUserFiles(userId, pageable);
+        Page<ContentResponse> result = contentService.findByUserFiles(userId, pageable, false);
         return ContentPage.from(result);
     }
 
     @QueryMapping
     @PreAuthorize("hasAnyRole('VIEWER', 'CREATOR', 'ADMIN')")
     public ContentPage userContentsByType(@Argument Integer userId, @Argument ContentType contentType,
-            @Argument int page, @Argument int size) {
+            @Argument int page, @Argument int size, @Argument PageMode mode, @Argument String after,
+            DataFetchingFieldSelectionSet selectionSet) {
+        if (mode == PageMode.CURSOR) {
+            return ContentPage.from(contentService.findKeyset(userId, contentType, after, size, false), after != null);
+        }
+        if (mode == PageMode.SLICE || !needsCount(selectionSet)) {
+            return ContentPage.from(contentService.findSlice(userId, contentType, PageRequest.of(page, size), false),
+                    null);
+        }
         Pageable pageable = PageRequest.of(page, size);
-        Page<ContentResponse> result = contentService.findByUserContentType(userId, contentType, pageable);
+        Page<ContentResponse> result = contentService.findByUserContentType(userId, contentType, pageable, false);
         return ContentPage.from(result);
     }
 
+    @QueryMapping
+    @PreAuthorize("hasAnyRole('VIEWER', 'CREATOR', 'ADMIN')")
+    public ContentPage searchContents(@Argument String query, @Argument ContentType contentType,
+            @Argument Integer userId, @Argument String after, @Argument int size) {
+        return ContentPage.from(contentService.search(query, contentType, userId, after, size, false), after != null);
+    }
+
+    @QueryMapping
+    @PreAuthorize("hasAnyRole('VIEWER', 'CREATOR', 'ADMIN')")
+    public ContentPage contentsByMetadata(@Argument String filter, @Argument String after, @Argument int size) {
+        return ContentPage.from(metadataService.findContents(filter, after, size, false), after != null);
+    }
+
     @QueryMapping
     @PreAuthorize("hasAnyRole('VIEWER', 'CREATOR', 'ADMIN')")
     public ContentResponse content(@Argument Integer contentId) {
         return contentService.findById(contentId);
     }
 
+    // Solo totalElements y totalPages necesitan el COUNT; sin ellos OFFSET se resuelve como SLICE
+    private static boolean needsCount(DataFetchingFieldSelectionSet selectionSet) {
+        return selectionSet.containsAnyOf("totalElements", "totalPages");
+    }
+
+    /**
+     * Content.categories para todos los contenidos del nivel con una sola consulta IN. Solo se
+     * ejecuta si la consulta selecciona categories; las páginas se arman sin categorías.
+     */
+    @BatchMapping(typeName = "Content", field = "categories")
+    public List<List<CategoryResponse>> categories(List<ContentResponse> contents) {
+        Set<Integer> contentIds = contents.stream().map(ContentResponse::getContentId).collect(Collectors.toSet());
+        Map<Integer, List<CategoryResponse>> categories = contentService.findCategories(contentIds);
+        return contents.stream()
+                .map(content -> categories.getOrDefault(content.getContentId(), List.of()))
+                .collect(Collectors.toList());
+    }
+
     @QueryMapping
     @PreAuthorize("hasAnyRole('VIEWER', 'CREATOR', 'ADMIN')")
     public List<CategoryResponse> contentCategories(@Argument Integer contentId) {
@@ -105,6 +204,19 @@ public class ContentGraphQLController {
         return contentService.create(request);
     }
 
+    @MutationMapping
+    @PreAuthorize("hasAnyRole('CREATOR', 'ADMIN')")
+    public BulkCreateResponse createContents(@Argument List<ContentInput> inputs) {
+        Integer currentUserId = authenticationService.getCurrentUserId();
+        List<ContentRequest> requests = new ArrayList<>(inputs.size());
+        for (ContentInput input : inputs) {
+            ContentRequest request = input.toContentRequest();
+            request.setUserId(currentUserId);
+            requests.add(request);
+        }
+        return contentBulkService.createAll(requests);
+    }
+
     @MutationMapping
     @PreAuthorize("hasAnyRole('CREATOR', 'ADMIN')")
     public ContentResponse updateContent(@Argument Integer contentId, @Argument ContentInput input) {
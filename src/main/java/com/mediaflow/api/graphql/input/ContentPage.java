@@ -3,8 +3,10 @@ package com.mediaflow.api.graphql.input;
 import java.util.List;
 
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Slice;
 
 import com.mediaflow.api.dto.ContentResponse;
+import com.mediaflow.api.dto.CursorPage;
 
 import lombok.AllArgsConstructor;
 import lombok.Builder;
@@ -17,12 +19,14 @@ import lombok.NoArgsConstructor;
 @AllArgsConstructor
 public class ContentPage {
     private List<ContentResponse> content;
-    private long totalElements;
-    private int totalPages;
-    private int pageNumber;
+    private Long totalElements;
+    private Integer totalPages;
+    private Integer pageNumber;
     private int pageSize;
     private boolean hasNext;
     private boolean hasPrevious;
+    private String nextCursor;
+    private Long estimatedTotal;
 
     public static ContentPage from(Page<ContentResponse> page) {
         return ContentPage.builder()
@@ -35,4 +39,27 @@ public class ContentPage {
                 .hasPrevious(page.hasPrevious())
                 .build();
     }
-}
\ No newline at end of file
+
+    // En modo cursor no hay totales ni número de página
+    public static ContentPage from(CursorPage<ContentResponse> page, boolean hasPrevious) {
+        return ContentPage.builder()
+                .content(page.getContent())
+                .pageSize(page.getSize())
+                .hasNext(page.isHasNext())
+                .hasPrevious(hasPrevious)
+                .nextCursor(page.getNextCursor())
+                .build();
+    }
+
+    // En modo slice no se ejecuta COUNT; el total estimado es opcional
+    public static ContentPage from(Slice<ContentResponse> slice, Long estimatedTotal) {
+        return ContentPage.builder()
+                .content(slice.getContent())
+                .pageNumber(slice.getNumber())
+                .pageSize(slice.getSize())
+                .hasNext(slice.hasNext())
+                .hasPrevious(slice.hasPrevious())
+                .estimatedTotal(estimatedTotal)
+                .build();
+    }
+}
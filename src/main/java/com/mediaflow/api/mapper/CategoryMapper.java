@@ -3,6 +3,7 @@ package com.mediaflow.api.mapper;
 import com.mediaflow.api.dto.CategoryRequest;
 import com.mediaflow.api.dto.CategoryResponse;
 import com.mediaflow.api.model.Category;
+import com.mediaflow.api.repository.projection.ContentCategoryRow;
 
 public final class CategoryMapper {
     
@@ -16,6 +17,16 @@ public final class CategoryMapper {
                 .build();
     }
 
+    public static CategoryResponse toResponse(ContentCategoryRow row) {
+        if (row == null)
+            return null;
+        return CategoryResponse.builder()
+                .categoryId(row.categoryId())
+                .name(row.name())
+                .description(row.description())
+                .build();
+    }
+
     public static Category toEntity(CategoryRequest dto) {
         if (dto == null)
             return null;
@@ -1,10 +1,15 @@
 package com.mediaflow.api.mapper;
 
+import java.util.List;
 import java.util.stream.Collectors;
 
+import com.mediaflow.api.dto.CategoryResponse;
 import com.mediaflow.api.dto.ContentRequest;
 import com.mediaflow.api.dto.ContentResponse;
+import com.mediaflow.api.dto.ImageResponse;
+import com.mediaflow.api.dto.VideoRespose;
 import com.mediaflow.api.model.Content;
+import com.mediaflow.api.repository.projection.ContentRow;
 
 public final class ContentMapper {
 
@@ -43,6 +48,47 @@ public final class ContentMapper {
         return builder.build();
     }
 
+    public static ContentResponse toResponse(ContentRow row, List<CategoryResponse> categories) {
+        if (row == null) {
+            return null;
+        }
+        ContentResponse.ContentResponseBuilder builder = ContentResponse.builder()
+                .contentId(row.contentId())
+                .format(row.format())
+                .fileSizeMB(row.fileSizeMB())
+                .language(row.language())
+                .title(row.title())
+                .contentType(row.contentType())
+                .description(row.description())
+                .recommendedAge(row.recommendedAge())
+                .storageUrl(row.storageUrl())
+                .thumbnailUrl(row.thumbnailUrl())
+                .created(row.created())
+                .locationId(row.locationId())
+                .userId(row.userId());
+
+        if (row.videoId() != null) {
+            builder.video(VideoRespose.builder()
+                    .videoId(row.videoId())
+                    .durationSeconds(row.videoDurationSeconds())
+                    .width(row.videoWidth())
+                    .height(row.videoHeight())
+                    .build());
+        }
+        if (row.imageId() != null) {
+            builder.image(ImageResponse.builder()
+                    .imageId(row.imageId())
+                    .width(row.imageWidth())
+                    .height(row.imageHeight())
+                    .build());
+        }
+        if (categories != null && !categories.isEmpty()) {
+            builder.categories(categories);
+        }
+
+        return builder.build();
+    }
+
     public static Content toEntity(ContentRequest dto) {
         if (dto == null) {
             return null;
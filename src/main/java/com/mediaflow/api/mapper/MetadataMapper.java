@@ -3,7 +3,9 @@ package com.mediaflow.api.mapper;
 
 import com.mediaflow.api.dto.MetadataRequest;
 import com.mediaflow.api.dto.MetadataResponse;
+import com.mediaflow.api.dto.MetadataSummaryResponse;
 import com.mediaflow.api.model.Metadata;
+import com.mediaflow.api.repository.projection.MetadataSummaryRow;
 
 public final class MetadataMapper {
     
@@ -24,6 +26,16 @@ public final class MetadataMapper {
         return builder.build();
     }
 
+    public static MetadataSummaryResponse toSummary(MetadataSummaryRow row) {
+        return MetadataSummaryResponse.builder()
+                .metadataId(row.metadataId())
+                .extractor(row.extractor())
+                .extractedAt(row.extractedAt())
+                .contentId(row.contentId())
+                .sizeBytes(row.sizeBytes())
+                .build();
+    }
+
     public static Metadata toEntity(MetadataRequest dto) {
         if (dto == null)
             return null;
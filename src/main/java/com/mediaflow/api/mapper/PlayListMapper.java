@@ -1,34 +1,32 @@
 package com.mediaflow.api.mapper;
 
-import java.util.stream.Collectors;
+import java.util.List;
 
 import com.mediaflow.api.dto.PlayListRequest;
 import com.mediaflow.api.dto.PlayListResponse;
+import com.mediaflow.api.dto.PlayListStatsResponse;
 import com.mediaflow.api.model.PlayList;
 
 public final class PlayListMapper {
 
-    public static PlayListResponse toResponse(PlayList playList) {
+    public static PlayListResponse toResponse(PlayList playList, PlayListStatsResponse stats, List<String> thumbnails) {
         if (playList == null) {
             return null;
         }
 
-        PlayListResponse.PlayListResponseBuilder builder = PlayListResponse.builder()
+        return PlayListResponse.builder()
                 .playListId(playList.getPlayListId())
                 .title(playList.getTitle())
                 .description(playList.getDescription())
                 .isPublic(playList.isPublic())
                 .createdAt(playList.getCreatedAt())
-                .userId(playList.getUserId());
-
-        if (playList.getContents() != null && !playList.getContents().isEmpty()) {
-            builder.contents(
-                    playList.getContents().stream()
-                            .map(ContentMapper::toResponse)
-                            .collect(Collectors.toList()));
-        }
-
-        return builder.build();
+                .userId(playList.getUserId())
+                .itemCount(stats.getItemCount())
+                .totalDurationSeconds(stats.getTotalDurationSeconds())
+                .totalFileSizeMB(stats.getTotalFileSizeMB())
+                .contentTypes(stats.getContentTypes())
+                .thumbnails(thumbnails != null ? thumbnails : List.of())
+                .build();
     }
 
     public static PlayList toEntity(PlayListRequest dto) {
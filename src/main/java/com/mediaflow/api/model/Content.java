@@ -1,6 +1,10 @@
 package com.mediaflow.api.model;
 
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.time.LocalDateTime;
+import java.util.HexFormat;
 import java.util.ArrayList;
 import java.util.List;
 
@@ -9,13 +13,15 @@ import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.EnumType;
 import jakarta.persistence.Enumerated;
-import jakarta.persistence.FetchType;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToMany;
 import jakarta.persistence.OneToOne;
+import jakarta.persistence.PrePersist;
+import jakarta.persistence.PreUpdate;
+import jakarta.persistence.SequenceGenerator;
 import jakarta.persistence.Table;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
@@ -31,7 +37,8 @@ import lombok.NoArgsConstructor;
 public class Content {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "contents_seq")
+    @SequenceGenerator(name = "contents_seq", sequenceName = "contents_content_id_seq", allocationSize = 50)
     @Column(name = "content_id")
     private Integer contentId;
 
@@ -63,6 +70,10 @@ public class Content {
     @Column(name = "thumbnail_url", nullable = false, columnDefinition = "TEXT")
     private String thumbnailUrl;
 
+    // Huella del medio (ver fingerprint(String)): contenidos con la misma huella comparten resultados de extracción
+    @Column(name = "fingerprint", length = 64)
+    private String fingerprint;
+
     @Column(name = "created", nullable = false)
     private LocalDateTime created;
 
@@ -83,10 +94,26 @@ public class Content {
     @ManyToMany(mappedBy = "contents")
     private List<Category> categories = new ArrayList<>();
 
-    @ManyToMany(mappedBy = "contents")
-    @Builder.Default
-    private List<PlayList> playLists = new ArrayList<>();
-
-    @OneToOne(mappedBy = "content", cascade = CascadeType.ALL, orphanRemoval = true, fetch = FetchType.LAZY)
-    private Metadata metadata;
+    @PrePersist
+    @PreUpdate
+    void updateFingerprint() {
+        fingerprint = fingerprint(storageUrl);
+    }
+
+    /**
+     * SHA-256 (hex) de la URL de almacenamiento completa: la query string puede identificar el
+     * objeto, así que URLs firmadas distintas del mismo archivo no coinciden. Debe coincidir con
+     * el cálculo de V10__content_fingerprint_full_url.sql.
+     */
+    public static String fingerprint(String storageUrl) {
+        if (storageUrl == null) {
+            return null;
+        }
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(storageUrl.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException ex) {
+            throw new IllegalStateException(ex);
+        }
+    }
 }
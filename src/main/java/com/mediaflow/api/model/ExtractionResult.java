@@ -0,0 +1,44 @@
+package com.mediaflow.api.model;
+
+import java.time.LocalDateTime;
+
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.type.SqlTypes;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.IdClass;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Resultado de un extractor para un medio (Content.fingerprint), compartido por todos los
+ * contenidos con la misma huella.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Entity
+@Table(name = "extraction_results")
+@IdClass(ExtractionResultId.class)
+public class ExtractionResult {
+    @Id
+    @Column(name = "fingerprint", length = 64)
+    private String fingerprint;
+
+    @Id
+    @Column(name = "extractor", length = 120)
+    private String extractor;
+
+    @JdbcTypeCode(SqlTypes.JSON)
+    @Column(name = "result_json", nullable = false, columnDefinition = "jsonb")
+    private String resultJson;
+
+    @Column(name = "created", nullable = false)
+    private LocalDateTime created;
+}
@@ -0,0 +1,16 @@
+package com.mediaflow.api.model;
+
+import java.io.Serializable;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ExtractionResultId implements Serializable {
+    private String fingerprint;
+
+    private String extractor;
+}
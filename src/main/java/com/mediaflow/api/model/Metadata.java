@@ -2,6 +2,9 @@ package com.mediaflow.api.model;
 
 import java.time.LocalDate;
 
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.type.SqlTypes;
+
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.FetchType;
@@ -31,6 +34,7 @@ public class Metadata {
     @Column(name = "extractor", nullable = false, length = 120)
     private String extractor; 
 
+    @JdbcTypeCode(SqlTypes.JSON)
     @Column(name = "result_json", nullable = false, columnDefinition = "jsonb")
     private String resultJson;
 
@@ -1,8 +1,6 @@
 package com.mediaflow.api.model;
 
 import java.time.LocalDate;
-import java.util.ArrayList;
-import java.util.List;
 
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
@@ -10,9 +8,6 @@ import jakarta.persistence.FetchType;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
-import jakarta.persistence.JoinColumn;
-import jakarta.persistence.JoinTable;
-import jakarta.persistence.ManyToMany;
 import jakarta.persistence.ManyToOne;
 import jakarta.persistence.Table;
 import lombok.AllArgsConstructor;
@@ -47,8 +42,5 @@ public class PlayList {
     @Column(name = "user_id", nullable = false)
     private Integer userId;
 
-    @ManyToMany
-    @JoinTable(name = "playlists_contents", joinColumns = @JoinColumn(name = "playlist_id"), inverseJoinColumns = @JoinColumn(name = "content_id"))
-    @Builder.Default
-    private List<Content> contents = new ArrayList<>();
+    // Los contenidos viven en playlists_contents con su posición (ver PlayListItem)
 }
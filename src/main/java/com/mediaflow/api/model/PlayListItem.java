@@ -0,0 +1,35 @@
+package com.mediaflow.api.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.IdClass;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Contenido dentro de una playlist, con su posición. Las posiciones son dispersas:
+ * insertar, mover o quitar un elemento es una escritura de una sola fila.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Entity
+@Table(name = "playlists_contents")
+@IdClass(PlayListItemId.class)
+public class PlayListItem {
+    @Id
+    @Column(name = "playlist_id")
+    private Integer playListId;
+
+    @Id
+    @Column(name = "content_id")
+    private Integer contentId;
+
+    @Column(name = "position", nullable = false)
+    private Long position;
+}
@@ -1,9 +1,42 @@
 package com.mediaflow.api.repository;
 
+import java.util.Collection;
+import java.util.List;
+
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import com.mediaflow.api.model.Category;
+import com.mediaflow.api.repository.projection.ContentCategoryRow;
 
 public interface  CategoryRepository extends JpaRepository<Category, Integer>{
-    
+
+    @Query("SELECT new com.mediaflow.api.repository.projection.ContentCategoryRow("
+            + "ct.contentId, c.categoryId, c.name, c.descrition) "
+            + "FROM Category c JOIN c.contents ct WHERE ct.contentId IN :contentIds")
+    List<ContentCategoryRow> findRowsByContentIds(@Param("contentIds") Collection<Integer> contentIds);
+
+    // Category es el lado propietario de categories_contents: las filas se escriben aquí en bloque
+
+    @Modifying
+    @Query(value = "INSERT INTO categories_contents (category_id, content_id) "
+            + "SELECT c.category_id, :contentId FROM categories c WHERE c.category_id IN (:categoryIds) "
+            + "ON CONFLICT DO NOTHING", nativeQuery = true)
+    int linkContent(@Param("contentId") Integer contentId, @Param("categoryIds") Collection<Integer> categoryIds);
+
+    @Modifying
+    @Query(value = "DELETE FROM categories_contents WHERE content_id = :contentId "
+            + "AND category_id NOT IN (:categoryIds)", nativeQuery = true)
+    int unlinkContentExcept(@Param("contentId") Integer contentId, @Param("categoryIds") Collection<Integer> categoryIds);
+
+    @Modifying
+    @Query(value = "DELETE FROM categories_contents WHERE content_id = :contentId "
+            + "AND category_id = :categoryId", nativeQuery = true)
+    int unlinkContentCategory(@Param("contentId") Integer contentId, @Param("categoryId") Integer categoryId);
+
+    @Modifying
+    @Query(value = "DELETE FROM categories_contents WHERE content_id = :contentId", nativeQuery = true)
+    int unlinkContent(@Param("contentId") Integer contentId);
 }
@@ -1,32 +1,171 @@
 package com.mediaflow.api.repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.stream.Stream;
+
+import org.hibernate.jpa.HibernateHints;
+
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 
 import com.mediaflow.api.model.Content;
 import com.mediaflow.api.model.ContentType;
+import com.mediaflow.api.repository.projection.ContentRow;
+import com.mediaflow.api.repository.projection.ContentSearchHit;
+
+import jakarta.persistence.QueryHint;
 
 import org.springframework.stereotype.Repository;
 
 @Repository
 public interface ContentRepository extends JpaRepository<Content, Integer> {
 
-        @Query("SELECT DISTINCT c FROM Content c LEFT JOIN FETCH c.categories WHERE c.userId = :userId AND c.contentType = :contentType")
-        Page<Content> findByUserAndContentType(
+        // ===== Proyecciones para listados =====
+        // Solo las columnas de ContentResponse, con video e imagen en el mismo SQL.
+        // No se crean entidades administradas: sin persistence context ni dirty checking.
+
+        String CONTENT_ROW = "SELECT new com.mediaflow.api.repository.projection.ContentRow("
+                        + "c.contentId, c.format, c.fileSizeMB, c.language, c.title, c.contentType, c.description, "
+                        + "c.recommendedAge, c.storageUrl, c.thumbnailUrl, c.created, c.locationId, c.userId, "
+                        + "v.videoId, v.durationSeconds, v.width, v.height, i.imageId, i.width, i.height) "
+                        + "FROM Content c LEFT JOIN c.video v LEFT JOIN c.image i ";
+
+        String KEYSET = "(c.created, c.contentId) < (:created, :contentId) ORDER BY c.created DESC, c.contentId DESC";
+
+        @Query(value = CONTENT_ROW, countQuery = "SELECT COUNT(c) FROM Content c")
+        Page<ContentRow> findAllRows(Pageable pageable);
+
+        @Query(value = CONTENT_ROW + "WHERE c.userId = :userId AND c.contentType = :contentType",
+                        countQuery = "SELECT COUNT(c) FROM Content c WHERE c.userId = :userId AND c.contentType = :contentType")
+        Page<ContentRow> findRowsByUserAndContentType(
+                        @Param("userId") Integer userId,
+                        @Param("contentType") ContentType contentType,
+                        Pageable pageable);
+
+        @Query(value = CONTENT_ROW + "WHERE c.userId = :userId",
+                        countQuery = "SELECT COUNT(c) FROM Content c WHERE c.userId = :userId")
+        Page<ContentRow> findRowsByUser(
                         @Param("userId") Integer userId,
+                        Pageable pageable);
+
+        @Query(value = CONTENT_ROW + "WHERE c.contentType = :contentType",
+                        countQuery = "SELECT COUNT(c) FROM Content c WHERE c.contentType = :contentType")
+        Page<ContentRow> findRowsByContentType(
                         @Param("contentType") ContentType contentType,
                         Pageable pageable);
 
-        @Query("SELECT DISTINCT c FROM Content c LEFT JOIN FETCH c.categories WHERE c.userId = :userId")
-        Page<Content> findByUserContents(
+        @Query(CONTENT_ROW + "WHERE c.contentId IN :ids")
+        List<ContentRow> findRowsByIdIn(@Param("ids") Collection<Integer> ids);
+
+        @Query("SELECT c.contentId FROM Content c WHERE c.contentId IN :ids")
+        List<Integer> findExistingIds(@Param("ids") Collection<Integer> ids);
+
+        // ===== Slices: misma consulta sin COUNT (se pide un elemento extra para hasNext) =====
+
+        @Query(CONTENT_ROW)
+        Slice<ContentRow> sliceAllRows(Pageable pageable);
+
+        @Query(CONTENT_ROW + "WHERE c.userId = :userId AND c.contentType = :contentType")
+        Slice<ContentRow> sliceRowsByUserAndContentType(
                         @Param("userId") Integer userId,
+                        @Param("contentType") ContentType contentType,
                         Pageable pageable);
 
-        @Query("SELECT DISTINCT c FROM Content c LEFT JOIN FETCH c.categories WHERE c.contentType = :contentType")
-        Page<Content> findByContentType(
+        @Query(CONTENT_ROW + "WHERE c.userId = :userId")
+        Slice<ContentRow> sliceRowsByUser(
+                        @Param("userId") Integer userId,
+                        Pageable pageable);
+
+        @Query(CONTENT_ROW + "WHERE c.contentType = :contentType")
+        Slice<ContentRow> sliceRowsByContentType(
                         @Param("contentType") ContentType contentType,
                         Pageable pageable);
+
+        /**
+         * Número de filas estimado a partir de las estadísticas del planner (reltuples/relpages
+         * escalado al tamaño actual de la tabla, como hace el propio planner). Null si nunca se analizó.
+         */
+        @Query(value = "SELECT CASE "
+                        + "WHEN c.reltuples < 0 THEN NULL "
+                        + "WHEN c.relpages > 0 THEN CAST(c.reltuples / c.relpages "
+                        + "* (pg_relation_size(c.oid) / CAST(current_setting('block_size') AS integer)) AS bigint) "
+                        + "ELSE CAST(c.reltuples AS bigint) END "
+                        + "FROM pg_class c WHERE c.oid = CAST('contents' AS regclass)", nativeQuery = true)
+        Long estimateCount();
+
+        // ===== Paginación por keyset: (created, content_id) descendente =====
+
+        @Query(CONTENT_ROW + "WHERE " + KEYSET)
+        List<ContentRow> findKeyset(
+                        @Param("created") LocalDateTime created,
+                        @Param("contentId") Integer contentId,
+                        Pageable pageable);
+
+        @Query(CONTENT_ROW + "WHERE c.contentType = :contentType AND " + KEYSET)
+        List<ContentRow> findKeysetByContentType(
+                        @Param("contentType") ContentType contentType,
+                        @Param("created") LocalDateTime created,
+                        @Param("contentId") Integer contentId,
+                        Pageable pageable);
+
+        @Query(CONTENT_ROW + "WHERE c.userId = :userId AND " + KEYSET)
+        List<ContentRow> findKeysetByUser(
+                        @Param("userId") Integer userId,
+                        @Param("created") LocalDateTime created,
+                        @Param("contentId") Integer contentId,
+                        Pageable pageable);
+
+        @Query(CONTENT_ROW + "WHERE c.userId = :userId AND c.contentType = :contentType AND " + KEYSET)
+        List<ContentRow> findKeysetByUserAndContentType(
+                        @Param("userId") Integer userId,
+                        @Param("contentType") ContentType contentType,
+                        @Param("created") LocalDateTime created,
+                        @Param("contentId") Integer contentId,
+                        Pageable pageable);
+
+        // ===== Exportación en streaming =====
+        // Cursor de solo avance: PostgreSQL entrega las filas de EXPORT_FETCH_SIZE en EXPORT_FETCH_SIZE
+        // (requiere transacción abierta). Los filtros nulos se ignoran.
+
+        int EXPORT_FETCH_SIZE = 500;
+
+        @QueryHints({
+                        @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "" + EXPORT_FETCH_SIZE),
+                        @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true") })
+        @Query(CONTENT_ROW + "WHERE (:contentType IS NULL OR c.contentType = :contentType) "
+                        + "AND (:userId IS NULL OR c.userId = :userId) "
+                        + "AND (:createdFrom IS NULL OR c.created >= :createdFrom) "
+                        + "AND (:createdTo IS NULL OR c.created < :createdTo) "
+                        + "ORDER BY c.contentId")
+        Stream<ContentRow> streamRows(
+                        @Param("contentType") ContentType contentType,
+                        @Param("userId") Integer userId,
+                        @Param("createdFrom") LocalDateTime createdFrom,
+                        @Param("createdTo") LocalDateTime createdTo);
+
+        // ===== Búsqueda de texto completo (columna generada search_vector + índice GIN) =====
+        // Paginación por keyset sobre (rank, content_id) descendente. Filtros nulos se ignoran.
+
+        @Query(value = "SELECT s.content_id AS contentId, s.rank AS rank FROM ("
+                        + "SELECT c.content_id, ts_rank_cd(c.search_vector, q.query) AS rank "
+                        + "FROM contents c, content_search_query(:query) AS q(query) "
+                        + "WHERE c.search_vector @@ q.query "
+                        + "AND (CAST(:contentType AS text) IS NULL OR c.content_type = CAST(:contentType AS text)) "
+                        + "AND (CAST(:userId AS integer) IS NULL OR c.user_id = CAST(:userId AS integer))) s "
+                        + "WHERE (s.rank, s.content_id) < (:rank, :contentId) "
+                        + "ORDER BY s.rank DESC, s.content_id DESC LIMIT :limit", nativeQuery = true)
+        List<ContentSearchHit> search(
+                        @Param("query") String query,
+                        @Param("contentType") String contentType,
+                        @Param("userId") Integer userId,
+                        @Param("rank") Float rank,
+                        @Param("contentId") Integer contentId,
+                        @Param("limit") int limit);
 }
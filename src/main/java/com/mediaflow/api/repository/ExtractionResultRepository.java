@@ -0,0 +1,21 @@
+package com.mediaflow.api.repository;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import com.mediaflow.api.model.ExtractionResult;
+import com.mediaflow.api.model.ExtractionResultId;
+
+public interface ExtractionResultRepository extends JpaRepository<ExtractionResult, ExtractionResultId> {
+
+    // Si otro trabajo ya guardó el resultado del mismo medio, se conserva el primero
+    @Modifying
+    @Query(value = "INSERT INTO extraction_results (fingerprint, extractor, result_json, created) "
+            + "VALUES (:fingerprint, :extractor, CAST(:resultJson AS jsonb), now()) "
+            + "ON CONFLICT (fingerprint, extractor) DO NOTHING", nativeQuery = true)
+    int saveIfAbsent(@Param("fingerprint") String fingerprint,
+            @Param("extractor") String extractor,
+            @Param("resultJson") String resultJson);
+}
@@ -1,15 +1,128 @@
 package com.mediaflow.api.repository;
 
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
 import com.mediaflow.api.model.Metadata;
+import com.mediaflow.api.repository.projection.MetadataSummaryRow;
+import com.mediaflow.api.repository.projection.MetadataUpsertRow;
 
 public interface MetadataRepository extends JpaRepository<Metadata, Integer> {
     
     @Query("SELECT m FROM Metadata m WHERE m.content.contentId = :contentId")
     Optional<Metadata> findByContentId(@Param("contentId") Integer contentId);
+
+    // ===== Resúmenes: nunca seleccionan result_json =====
+
+    String SUMMARY_ROW = "SELECT new com.mediaflow.api.repository.projection.MetadataSummaryRow("
+            + "m.metadataId, m.content.contentId, m.extractor, m.extractedAt, "
+            + "CAST(FUNCTION('pg_column_size', m.resultJson) AS Integer)) FROM Metadata m ";
+
+    @Query(SUMMARY_ROW + "WHERE m.content.contentId IN :contentIds")
+    List<MetadataSummaryRow> findSummariesByContentIdIn(@Param("contentIds") Collection<Integer> contentIds);
+
+    // Keyset por content_id ascendente
+    @Query(SUMMARY_ROW + "WHERE m.content.contentId > :afterContentId ORDER BY m.content.contentId")
+    List<MetadataSummaryRow> findSummaryKeyset(@Param("afterContentId") Integer afterContentId, Pageable pageable);
+
+    @Modifying
+    @Query(value = "DELETE FROM metadata WHERE content_id = :contentId", nativeQuery = true)
+    int deleteByContentId(@Param("contentId") Integer contentId);
+
+    /**
+     * Contenidos sin fila en metadata después de afterContentId, para el barrido de extracción.
+     */
+    @Query(value = """
+            SELECT c.content_id FROM contents c
+            WHERE c.content_id > :afterContentId
+              AND NOT EXISTS (SELECT 1 FROM metadata m WHERE m.content_id = c.content_id)
+            ORDER BY c.content_id
+            LIMIT :limit
+            """, nativeQuery = true)
+    List<Integer> findContentIdsWithoutMetadata(@Param("afterContentId") Integer afterContentId,
+            @Param("limit") int limit);
+
+    /**
+     * IDs de contenido cuya metadata contiene el documento y cumple el predicado jsonpath
+     * (ver MetadataFilter), en orden de content_id. Ambos operadores usan idx_metadata_result_json.
+     */
+    @Query(value = """
+            SELECT m.content_id FROM metadata m
+            WHERE m.result_json @> CAST(:containment AS jsonb)
+              AND m.result_json @@ CAST(:predicate AS jsonpath)
+              AND m.content_id > :afterContentId
+            ORDER BY m.content_id
+            LIMIT :limit
+            """, nativeQuery = true)
+    List<Integer> findContentIdsByFilter(@Param("containment") String containment,
+            @Param("predicate") String predicate,
+            @Param("afterContentId") Integer afterContentId,
+            @Param("limit") int limit);
+
+    /**
+     * Crea o reemplaza la metadata de un contenido en una sentencia. Vacío si el contenido no existe.
+     * No lleva @Modifying porque devuelve filas (INSERT ... RETURNING).
+     */
+    @Query(value = """
+            INSERT INTO metadata (content_id, extractor, result_json, extracted_at)
+            SELECT c.content_id, :extractor, CAST(:resultJson AS jsonb), :extractedAt
+            FROM contents c WHERE c.content_id = :contentId
+            ON CONFLICT (content_id) DO UPDATE SET
+                extractor = EXCLUDED.extractor,
+                result_json = EXCLUDED.result_json,
+                extracted_at = EXCLUDED.extracted_at
+            RETURNING metadata_id
+            """, nativeQuery = true)
+    Optional<Integer> upsert(@Param("contentId") Integer contentId,
+            @Param("extractor") String extractor,
+            @Param("resultJson") String resultJson,
+            @Param("extractedAt") LocalDate extractedAt);
+
+    /**
+     * Crea o reemplaza la metadata del contenido copiando el resultado guardado para su huella,
+     * sin que el documento pase por la aplicación. Vacío si no hay resultado para (huella, extractor).
+     */
+    @Query(value = """
+            INSERT INTO metadata (content_id, extractor, result_json, extracted_at)
+            SELECT c.content_id, r.extractor, r.result_json, CURRENT_DATE
+            FROM contents c
+            JOIN extraction_results r ON r.fingerprint = c.fingerprint AND r.extractor = :extractor
+            WHERE c.content_id = :contentId
+            ON CONFLICT (content_id) DO UPDATE SET
+                extractor = EXCLUDED.extractor,
+                result_json = EXCLUDED.result_json,
+                extracted_at = EXCLUDED.extracted_at
+            RETURNING metadata_id
+            """, nativeQuery = true)
+    Optional<Integer> copyFromExtractionResult(@Param("contentId") Integer contentId,
+            @Param("extractor") String extractor);
+
+    /**
+     * Upsert masivo: las listas van en paralelo (mismo índice, mismo elemento) y no pueden repetir
+     * content_id. Los contenidos que no existen se omiten; devuelve una fila por metadata escrita.
+     */
+    @Query(value = """
+            INSERT INTO metadata (content_id, extractor, result_json, extracted_at)
+            SELECT t.content_id, t.extractor, CAST(t.result_json AS jsonb), t.extracted_at
+            FROM unnest(ARRAY[:contentIds], ARRAY[:extractors], ARRAY[:resultJsons], ARRAY[:extractedAts])
+                AS t(content_id, extractor, result_json, extracted_at)
+            JOIN contents c ON c.content_id = t.content_id
+            ON CONFLICT (content_id) DO UPDATE SET
+                extractor = EXCLUDED.extractor,
+                result_json = EXCLUDED.result_json,
+                extracted_at = EXCLUDED.extracted_at
+            RETURNING content_id AS contentId, metadata_id AS metadataId, (xmax = 0) AS inserted
+            """, nativeQuery = true)
+    List<MetadataUpsertRow> upsertAll(@Param("contentIds") Collection<Integer> contentIds,
+            @Param("extractors") Collection<String> extractors,
+            @Param("resultJsons") Collection<String> resultJsons,
+            @Param("extractedAts") Collection<LocalDate> extractedAts);
 }
@@ -0,0 +1,139 @@
+package com.mediaflow.api.repository;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import com.mediaflow.api.model.PlayListItem;
+import com.mediaflow.api.model.PlayListItemId;
+import com.mediaflow.api.repository.projection.PlayListAddRow;
+
+public interface PlayListItemRepository extends JpaRepository<PlayListItem, PlayListItemId> {
+
+    // ===== Lectura ordenada: keyset sobre (position, content_id) ascendente =====
+
+    @Query("SELECT pi FROM PlayListItem pi WHERE pi.playListId = :playlistId "
+            + "AND (pi.position, pi.contentId) > (:position, :contentId) "
+            + "ORDER BY pi.position, pi.contentId")
+    List<PlayListItem> findKeyset(
+            @Param("playlistId") Integer playlistId,
+            @Param("position") Long position,
+            @Param("contentId") Integer contentId,
+            Pageable pageable);
+
+    // ===== Vecinos para calcular posiciones (index scan sobre (playlist_id, position)) =====
+
+    @Query("SELECT pi.position FROM PlayListItem pi WHERE pi.playListId = :playlistId AND pi.contentId = :contentId")
+    Optional<Long> findPosition(@Param("playlistId") Integer playlistId, @Param("contentId") Integer contentId);
+
+    @Query("SELECT MIN(pi.position) FROM PlayListItem pi WHERE pi.playListId = :playlistId AND pi.position > :position")
+    Long findNextPosition(@Param("playlistId") Integer playlistId, @Param("position") Long position);
+
+    @Query("SELECT MIN(pi.position) FROM PlayListItem pi WHERE pi.playListId = :playlistId")
+    Long findFirstPosition(@Param("playlistId") Integer playlistId);
+
+    @Query("SELECT MAX(pi.position) FROM PlayListItem pi WHERE pi.playListId = :playlistId")
+    Long findLastPosition(@Param("playlistId") Integer playlistId);
+
+    // ===== Escrituras de una fila =====
+
+    @Modifying
+    @Query(value = "INSERT INTO playlists_contents (playlist_id, content_id, position) "
+            + "VALUES (:playlistId, :contentId, :position) "
+            + "ON CONFLICT (playlist_id, content_id) DO NOTHING", nativeQuery = true)
+    int insertItem(
+            @Param("playlistId") Integer playlistId,
+            @Param("contentId") Integer contentId,
+            @Param("position") long position);
+
+    @Modifying
+    @Query("UPDATE PlayListItem pi SET pi.position = :position "
+            + "WHERE pi.playListId = :playlistId AND pi.contentId = :contentId")
+    int updatePosition(
+            @Param("playlistId") Integer playlistId,
+            @Param("contentId") Integer contentId,
+            @Param("position") long position);
+
+    @Modifying
+    @Query("DELETE FROM PlayListItem pi WHERE pi.playListId = :playlistId AND pi.contentId = :contentId")
+    int deleteItem(@Param("playlistId") Integer playlistId, @Param("contentId") Integer contentId);
+
+    // ===== Escrituras de conjunto =====
+
+    // Agrega al final en el orden de contentIds, a partir de start (los que ya están se omiten)
+    @Modifying
+    @Query(value = "INSERT INTO playlists_contents (playlist_id, content_id, position) "
+            + "SELECT :playlistId, t.content_id, :start + t.ord * :gap "
+            + "FROM unnest(ARRAY[:contentIds]) WITH ORDINALITY AS t(content_id, ord) "
+            + "ON CONFLICT (playlist_id, content_id) DO NOTHING", nativeQuery = true)
+    int appendItems(
+            @Param("playlistId") Integer playlistId,
+            @Param("contentIds") Collection<Integer> contentIds,
+            @Param("start") long start,
+            @Param("gap") long gap);
+
+    // Agregado masivo en una sentencia: filtra los que existen, los agrega al final en el orden de
+    // contentIds y devuelve una fila por contenido existente indicando si se agregó o ya estaba.
+    // No lleva @Modifying porque devuelve filas (INSERT ... RETURNING dentro de un CTE).
+    @Query(value = "WITH requested AS ("
+            + "SELECT t.content_id, t.ord FROM unnest(ARRAY[:contentIds]) WITH ORDINALITY AS t(content_id, ord)), "
+            + "existing AS (SELECT r.content_id, r.ord FROM requested r JOIN contents c ON c.content_id = r.content_id), "
+            + "last AS (SELECT COALESCE(MAX(position), 0) AS position FROM playlists_contents "
+            + "WHERE playlist_id = :playlistId), "
+            + "inserted AS (INSERT INTO playlists_contents (playlist_id, content_id, position) "
+            + "SELECT :playlistId, e.content_id, last.position + e.ord * :gap FROM existing e, last "
+            + "ON CONFLICT (playlist_id, content_id) DO NOTHING RETURNING content_id) "
+            + "SELECT e.content_id AS contentId, (i.content_id IS NOT NULL) AS added "
+            + "FROM existing e LEFT JOIN inserted i ON i.content_id = e.content_id "
+            + "ORDER BY e.ord", nativeQuery = true)
+    List<PlayListAddRow> addItems(
+            @Param("playlistId") Integer playlistId,
+            @Param("contentIds") Collection<Integer> contentIds,
+            @Param("gap") long gap);
+
+    // Copia/merge en la base: agrega al final de la playlist destino los contenidos de las playlists
+    // origen, en el orden de sourceIds y luego por posición. Un contenido repetido se agrega una sola
+    // vez (su primera aparición) y los que ya están en el destino se omiten.
+    @Modifying
+    @Query(value = "INSERT INTO playlists_contents (playlist_id, content_id, position) "
+            + "SELECT :targetId, m.content_id, "
+            + "last.position + ROW_NUMBER() OVER (ORDER BY m.source_ord, m.position, m.content_id) * :gap "
+            + "FROM (SELECT DISTINCT ON (pc.content_id) pc.content_id, s.ord AS source_ord, pc.position "
+            + "FROM unnest(ARRAY[:sourceIds]) WITH ORDINALITY AS s(playlist_id, ord) "
+            + "JOIN playlists_contents pc ON pc.playlist_id = s.playlist_id "
+            + "WHERE NOT EXISTS (SELECT 1 FROM playlists_contents t "
+            + "WHERE t.playlist_id = :targetId AND t.content_id = pc.content_id) "
+            + "ORDER BY pc.content_id, s.ord, pc.position) m, "
+            + "(SELECT COALESCE(MAX(position), 0) AS position FROM playlists_contents "
+            + "WHERE playlist_id = :targetId) last "
+            + "ON CONFLICT (playlist_id, content_id) DO NOTHING", nativeQuery = true)
+    int mergeItems(
+            @Param("targetId") Integer targetId,
+            @Param("sourceIds") Collection<Integer> sourceIds,
+            @Param("gap") long gap);
+
+    @Modifying
+    @Query("DELETE FROM PlayListItem pi WHERE pi.playListId = :playlistId")
+    int deleteByPlayListId(@Param("playlistId") Integer playlistId);
+
+    // Playlists con dos vecinos a menos de :minGap (recorre la tabla: solo para el barrido periódico)
+    @Query(value = "SELECT DISTINCT g.playlist_id FROM ("
+            + "SELECT playlist_id, position - LAG(position) OVER (PARTITION BY playlist_id ORDER BY position) AS gap "
+            + "FROM playlists_contents) g "
+            + "WHERE g.gap < :minGap ORDER BY g.playlist_id LIMIT :limit", nativeQuery = true)
+    List<Integer> findCrowdedPlaylistIds(@Param("minGap") long minGap, @Param("limit") int limit);
+
+    // Reparte de nuevo las posiciones con hueco :gap, conservando el orden actual
+    @Modifying
+    @Query(value = "UPDATE playlists_contents pc SET position = r.rn * :gap "
+            + "FROM (SELECT content_id, ROW_NUMBER() OVER (ORDER BY position, content_id) AS rn "
+            + "FROM playlists_contents WHERE playlist_id = :playlistId) r "
+            + "WHERE pc.playlist_id = :playlistId AND pc.content_id = r.content_id", nativeQuery = true)
+    int renumber(@Param("playlistId") Integer playlistId, @Param("gap") long gap);
+}
@@ -1,24 +1,62 @@
 package com.mediaflow.api.repository;
 
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
 import com.mediaflow.api.model.PlayList;
+import com.mediaflow.api.repository.projection.PlayListStatsRow;
+import com.mediaflow.api.repository.projection.PlayListThumbnailRow;
+
+import jakarta.persistence.LockModeType;
 
 public interface PlayListRepository extends JpaRepository<PlayList, Integer> {
 
+    // Bloquea la fila de la playlist hasta el fin de la transacción: serializa las escrituras
+    // de una misma playlist sin bloquear a las demás
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT p FROM PlayList p WHERE p.playListId = :playlistId")
+    Optional<PlayList> findByIdForUpdate(@Param("playlistId") Integer playlistId);
+
     @Query("SELECT p FROM PlayList p WHERE p.userId = :userId")
     Page<PlayList> findByUserId(@Param("userId") Integer userId, Pageable pageable);
 
     @Query("SELECT p FROM PlayList p WHERE p.isPublic = true")
     Page<PlayList> findPublicPlaylists(Pageable pageable);
 
+    @Query("SELECT p FROM PlayList p WHERE p.isPublic = true")
+    Slice<PlayList> slicePublicPlaylists(Pageable pageable);
+
     @Query("SELECT p FROM PlayList p WHERE p.userId = :userId AND p.isPublic = :isPublic")
     Page<PlayList> findByUserIdAndVisibility(
             @Param("userId") Integer userId,
             @Param("isPublic") boolean isPublic,
             Pageable pageable);
-}
\ No newline at end of file
+
+    // ===== Resumen de playlists (una consulta por página, no por playlist) =====
+
+    // Conteo, duración, tamaño y mezcla de tipos en una sola consulta agrupada
+    @Query("SELECT new com.mediaflow.api.repository.projection.PlayListStatsRow("
+            + "pi.playListId, c.contentType, COUNT(pi), COALESCE(SUM(v.durationSeconds), 0L), "
+            + "COALESCE(SUM(c.fileSizeMB), 0L)) "
+            + "FROM PlayListItem pi JOIN Content c ON c.contentId = pi.contentId LEFT JOIN c.video v "
+            + "WHERE pi.playListId IN :ids GROUP BY pi.playListId, c.contentType")
+    List<PlayListStatsRow> findStats(@Param("ids") Collection<Integer> ids);
+
+    // Primeras :limit miniaturas de cada playlist, en el mismo orden que GET /playlists/{id}/contents
+    @Query(value = "SELECT t.playlist_id AS playListId, t.thumbnail_url AS thumbnailUrl FROM ("
+            + "SELECT pc.playlist_id, c.thumbnail_url, ROW_NUMBER() OVER ("
+            + "PARTITION BY pc.playlist_id ORDER BY pc.position, pc.content_id) AS rn "
+            + "FROM playlists_contents pc JOIN contents c ON c.content_id = pc.content_id "
+            + "WHERE pc.playlist_id IN (:ids) AND c.thumbnail_url IS NOT NULL) t "
+            + "WHERE t.rn <= :limit ORDER BY t.playlist_id, t.rn", nativeQuery = true)
+    List<PlayListThumbnailRow> findThumbnails(@Param("ids") Collection<Integer> ids, @Param("limit") int limit);
+}
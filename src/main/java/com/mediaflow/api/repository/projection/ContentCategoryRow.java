@@ -0,0 +1,11 @@
+package com.mediaflow.api.repository.projection;
+
+/**
+ * Categoría asignada a un contenido, para cargar las categorías de una página completa en una consulta.
+ */
+public record ContentCategoryRow(
+        Integer contentId,
+        Integer categoryId,
+        String name,
+        String description) {
+}
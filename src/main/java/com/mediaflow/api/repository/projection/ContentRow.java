@@ -0,0 +1,32 @@
+package com.mediaflow.api.repository.projection;
+
+import java.time.LocalDateTime;
+
+import com.mediaflow.api.model.ContentType;
+
+/**
+ * Proyección de solo lectura con las columnas que necesita ContentResponse,
+ * incluyendo video e imagen unidos en la misma consulta.
+ */
+public record ContentRow(
+        Integer contentId,
+        String format,
+        Integer fileSizeMB,
+        String language,
+        String title,
+        ContentType contentType,
+        String description,
+        Integer recommendedAge,
+        String storageUrl,
+        String thumbnailUrl,
+        LocalDateTime created,
+        Integer locationId,
+        Integer userId,
+        Integer videoId,
+        Integer videoDurationSeconds,
+        Integer videoWidth,
+        Integer videoHeight,
+        Integer imageId,
+        Integer imageWidth,
+        Integer imageHeight) {
+}
@@ -0,0 +1,10 @@
+package com.mediaflow.api.repository.projection;
+
+/**
+ * Resultado de la búsqueda de texto completo: contenido y su relevancia (ts_rank_cd).
+ */
+public interface ContentSearchHit {
+    Integer getContentId();
+
+    Float getRank();
+}
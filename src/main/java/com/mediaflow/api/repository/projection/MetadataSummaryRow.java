@@ -0,0 +1,15 @@
+package com.mediaflow.api.repository.projection;
+
+import java.time.LocalDate;
+
+/**
+ * Metadata sin el documento result_json: sizeBytes es lo que ocupa almacenado
+ * (pg_column_size, comprimido si corresponde), calculado sin leer el documento.
+ */
+public record MetadataSummaryRow(
+        Integer metadataId,
+        Integer contentId,
+        String extractor,
+        LocalDate extractedAt,
+        Integer sizeBytes) {
+}
@@ -0,0 +1,12 @@
+package com.mediaflow.api.repository.projection;
+
+/**
+ * Fila escrita por un upsert masivo de metadata: inserted es false si reemplazó una existente.
+ */
+public interface MetadataUpsertRow {
+    Integer getContentId();
+
+    Integer getMetadataId();
+
+    Boolean getInserted();
+}
@@ -0,0 +1,10 @@
+package com.mediaflow.api.repository.projection;
+
+/**
+ * Contenido existente pedido en un agregado masivo a una playlist: added es false si ya estaba.
+ */
+public interface PlayListAddRow {
+    Integer getContentId();
+
+    Boolean getAdded();
+}
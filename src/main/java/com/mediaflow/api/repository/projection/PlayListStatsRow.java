@@ -0,0 +1,14 @@
+package com.mediaflow.api.repository.projection;
+
+import com.mediaflow.api.model.ContentType;
+
+/**
+ * Agregados de los contenidos de una playlist para un tipo de contenido.
+ */
+public record PlayListStatsRow(
+        Integer playListId,
+        ContentType contentType,
+        Long itemCount,
+        Long totalDurationSeconds,
+        Long totalFileSizeMB) {
+}
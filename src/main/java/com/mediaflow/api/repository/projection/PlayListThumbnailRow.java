@@ -0,0 +1,10 @@
+package com.mediaflow.api.repository.projection;
+
+/**
+ * Miniatura de uno de los primeros contenidos de una playlist (vista previa del listado).
+ */
+public interface PlayListThumbnailRow {
+    Integer getPlayListId();
+
+    String getThumbnailUrl();
+}
@@ -0,0 +1,14 @@
+package com.mediaflow.api.service;
+
+import java.util.List;
+
+import com.mediaflow.api.dto.BulkCreateResponse;
+import com.mediaflow.api.dto.ContentRequest;
+
+public interface ContentBulkService {
+    /**
+     * Crea los contenidos en transacciones por bloques con inserts JDBC por lotes.
+     * Cada elemento se reporta por separado: un elemento inválido no anula a los demás.
+     */
+    BulkCreateResponse createAll(List<ContentRequest> requests);
+}
@@ -0,0 +1,194 @@
+package com.mediaflow.api.service;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.NestedExceptionUtils;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.mediaflow.api.dto.BulkCreateResponse;
+import com.mediaflow.api.dto.BulkItemResult;
+import com.mediaflow.api.dto.ContentRequest;
+import com.mediaflow.api.exception.BadRequestException;
+import com.mediaflow.api.extraction.MetadataExtractionPipeline;
+import com.mediaflow.api.mapper.ContentMapper;
+import com.mediaflow.api.mapper.ImageMapper;
+import com.mediaflow.api.mapper.VideoMapper;
+import com.mediaflow.api.model.Category;
+import com.mediaflow.api.model.Content;
+import com.mediaflow.api.model.ContentType;
+import com.mediaflow.api.repository.CategoryRepository;
+
+import jakarta.persistence.EntityManager;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.RequiredArgsConstructor;
+
+@Service
+@RequiredArgsConstructor
+public class ContentBulkServiceImpl implements ContentBulkService {
+
+    private static final String INSERT_CATEGORY_LINK = "INSERT INTO categories_contents (category_id, content_id) "
+            + "VALUES (?, ?) ON CONFLICT DO NOTHING";
+
+    private final CategoryRepository categoryRepository;
+    private final EntityManager entityManager;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final Validator validator;
+    private final MetadataExtractionPipeline metadataExtractionPipeline;
+
+    @Value("${content.bulk.chunk-size:500}")
+    private int chunkSize;
+
+    @Value("${content.bulk.max-items:10000}")
+    private int maxItems;
+
+    @Override
+    public BulkCreateResponse createAll(List<ContentRequest> requests) {
+        if (requests == null || requests.isEmpty()) {
+            throw new BadRequestException("At least one content is required");
+        }
+        if (requests.size() > maxItems) {
+            throw new BadRequestException("Too many contents in one request: " + requests.size() + " (max " + maxItems + ")");
+        }
+
+        BulkItemResult[] results = new BulkItemResult[requests.size()];
+        for (int from = 0; from < requests.size(); from += chunkSize) {
+            int to = Math.min(from + chunkSize, requests.size());
+            List<Integer> valid = validateChunk(requests, from, to, results);
+            if (valid.isEmpty()) {
+                continue;
+            }
+
+            Map<Integer, Integer> created;
+            try {
+                created = transactionTemplate.execute(status -> persistChunk(requests, valid));
+            } catch (RuntimeException ex) {
+                // El bloque se revirtió: se reintenta elemento por elemento para aislar los que fallan
+                created = new LinkedHashMap<>();
+                for (Integer index : valid) {
+                    try {
+                        created.putAll(transactionTemplate.execute(status -> persistChunk(requests, List.of(index))));
+                    } catch (RuntimeException itemEx) {
+                        results[index] = BulkItemResult.failed(index, errorMessage(itemEx));
+                    }
+                }
+            }
+            // Fuera del try: un fallo posterior al commit no debe provocar el reintento (ni duplicados)
+            markCreated(created, results);
+        }
+
+        return BulkCreateResponse.of(Arrays.asList(results));
+    }
+
+    /**
+     * Valida los elementos del bloque y resuelve todas sus categorías con una sola consulta IN.
+     * Devuelve los índices válidos; los inválidos quedan registrados como FAILED.
+     */
+    private List<Integer> validateChunk(List<ContentRequest> requests, int from, int to, BulkItemResult[] results) {
+        Set<Integer> categoryIds = new HashSet<>();
+        for (int i = from; i < to; i++) {
+            ContentRequest req = requests.get(i);
+            if (req != null && req.getCategoryIds() != null) {
+                categoryIds.addAll(req.getCategoryIds());
+            }
+        }
+        Set<Integer> existing = categoryIds.isEmpty() ? Set.of()
+                : categoryRepository.findAllById(categoryIds).stream()
+                        .map(Category::getCategoryId)
+                        .collect(Collectors.toSet());
+
+        List<Integer> valid = new ArrayList<>();
+        for (int i = from; i < to; i++) {
+            ContentRequest req = requests.get(i);
+            if (req == null) {
+                results[i] = BulkItemResult.failed(i, "Content is required");
+                continue;
+            }
+
+            Set<ConstraintViolation<ContentRequest>> violations = validator.validate(req);
+            if (!violations.isEmpty()) {
+                results[i] = BulkItemResult.failed(i, violations.stream()
+                        .map(v -> v.getPropertyPath() + ": " + v.getMessage())
+                        .sorted()
+                        .collect(Collectors.joining(", ")));
+                continue;
+            }
+
+            if (req.getCategoryIds() != null) {
+                Set<Integer> missing = new LinkedHashSet<>(req.getCategoryIds());
+                missing.removeAll(existing);
+                if (!missing.isEmpty()) {
+                    results[i] = BulkItemResult.failed(i, "Categories not found: " + missing);
+                    continue;
+                }
+            }
+            valid.add(i);
+        }
+        return valid;
+    }
+
+    /**
+     * Persiste un bloque dentro de la transacción actual. Los IDs salen del pool de la secuencia,
+     * así que Hibernate agrupa los INSERT (hibernate.jdbc.batch_size) al hacer flush.
+     */
+    private Map<Integer, Integer> persistChunk(List<ContentRequest> requests, List<Integer> indexes) {
+        Map<Integer, Content> contents = new LinkedHashMap<>();
+        for (Integer index : indexes) {
+            ContentRequest req = requests.get(index);
+            Content content = ContentMapper.toEntity(req);
+            content.setUserId(req.getUserId());
+            content.setLocationId(req.getLocationId());
+
+            if (req.getContentType() == ContentType.VIDEO && req.getVideoMetadata() != null) {
+                content.setVideo(VideoMapper.toEntity(req.getVideoMetadata()));
+            } else if (req.getContentType() == ContentType.IMAGE && req.getImageMetadata() != null) {
+                content.setImage(ImageMapper.toEntity(req.getImageMetadata()));
+            }
+
+            entityManager.persist(content);
+            contents.put(index, content);
+        }
+        entityManager.flush();
+
+        List<Object[]> links = new ArrayList<>();
+        Map<Integer, Integer> ids = new LinkedHashMap<>();
+        contents.forEach((index, content) -> {
+            ids.put(index, content.getContentId());
+            List<Integer> categoryIds = requests.get(index).getCategoryIds();
+            if (categoryIds != null) {
+                new LinkedHashSet<>(categoryIds)
+                        .forEach(categoryId -> links.add(new Object[] { categoryId, content.getContentId() }));
+            }
+        });
+        if (!links.isEmpty()) {
+            jdbcTemplate.batchUpdate(INSERT_CATEGORY_LINK, links);
+        }
+
+        // Mantener el persistence context vacío entre bloques para que la memoria no crezca
+        entityManager.clear();
+        return ids;
+    }
+
+    // El bloque ya confirmó: se encola la extracción de cada contenido creado, esperando lugar en la cola
+    private void markCreated(Map<Integer, Integer> ids, BulkItemResult[] results) {
+        ids.forEach((index, contentId) -> results[index] = BulkItemResult.created(index, contentId));
+        metadataExtractionPipeline.onContentsCreated(ids.values());
+    }
+
+    private static String errorMessage(RuntimeException ex) {
+        Throwable cause = NestedExceptionUtils.getMostSpecificCause(ex);
+        return cause.getMessage() != null ? cause.getMessage() : cause.getClass().getSimpleName();
+    }
+}
@@ -1,23 +1,111 @@
 package com.mediaflow.api.service;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
 
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 
 import com.mediaflow.api.dto.CategoryResponse;
 import com.mediaflow.api.dto.ContentRequest;
 import com.mediaflow.api.dto.ContentResponse;
+import com.mediaflow.api.dto.CursorPage;
 import com.mediaflow.api.model.ContentType;
 
 public interface ContentService {
-    Page<ContentResponse> findAll(Pageable pageable);
-    
-    Page<ContentResponse> findByContentType(ContentType contentType, Pageable pageable);
-    
-    Page<ContentResponse> findByUserContentType(Integer userId, ContentType contentType, Pageable pageable);
-    
-    Page<ContentResponse> findByUserFiles(Integer userId, Pageable pageable);
+    default Page<ContentResponse> findAll(Pageable pageable) {
+        return findAll(pageable, true);
+    }
+
+    /**
+     * Con withCategories = false las respuestas no traen categorías y se ahorra la consulta IN;
+     * GraphQL las carga aparte solo si la consulta las pide (ver ContentGraphQLController).
+     */
+    Page<ContentResponse> findAll(Pageable pageable, boolean withCategories);
+
+    default Page<ContentResponse> findByContentType(ContentType contentType, Pageable pageable) {
+        return findByContentType(contentType, pageable, true);
+    }
+
+    Page<ContentResponse> findByContentType(ContentType contentType, Pageable pageable, boolean withCategories);
+
+    default Page<ContentResponse> findByUserContentType(Integer userId, ContentType contentType, Pageable pageable) {
+        return findByUserContentType(userId, contentType, pageable, true);
+    }
+
+    Page<ContentResponse> findByUserContentType(Integer userId, ContentType contentType, Pageable pageable,
+            boolean withCategories);
+
+    default Page<ContentResponse> findByUserFiles(Integer userId, Pageable pageable) {
+        return findByUserFiles(userId, pageable, true);
+    }
+
+    Page<ContentResponse> findByUserFiles(Integer userId, Pageable pageable, boolean withCategories);
+
+    /**
+     * Página sin COUNT: solo indica si hay página siguiente.
+     * userId y contentType son filtros opcionales (null = sin filtro).
+     */
+    default Slice<ContentResponse> findSlice(Integer userId, ContentType contentType, Pageable pageable) {
+        return findSlice(userId, contentType, pageable, true);
+    }
+
+    Slice<ContentResponse> findSlice(Integer userId, ContentType contentType, Pageable pageable,
+            boolean withCategories);
+
+    /**
+     * Total aproximado del catálogo sin filtros según las estadísticas de PostgreSQL (null si no hay).
+     */
+    Long estimateTotal();
+
+    /**
+     * Paginación por keyset ordenada por (created, content_id) descendente.
+     * userId y contentType son filtros opcionales (null = sin filtro).
+     */
+    default CursorPage<ContentResponse> findKeyset(Integer userId, ContentType contentType, String cursor, int size) {
+        return findKeyset(userId, contentType, cursor, size, true);
+    }
+
+    CursorPage<ContentResponse> findKeyset(Integer userId, ContentType contentType, String cursor, int size,
+            boolean withCategories);
+
+    /**
+     * Recorre todo el catálogo filtrado con un cursor de solo avance y entrega los contenidos
+     * al sink en lotes, sin acumularlos en memoria. Los filtros nulos se ignoran.
+     */
+    void export(ContentType contentType, Integer userId, LocalDateTime createdFrom, LocalDateTime createdTo,
+            Consumer<List<ContentResponse>> sink);
+
+    /**
+     * Contenidos en el mismo orden que contentIds (los que no existen se omiten).
+     */
+    default List<ContentResponse> findAllById(List<Integer> contentIds) {
+        return findAllById(contentIds, true);
+    }
+
+    List<ContentResponse> findAllById(List<Integer> contentIds, boolean withCategories);
+
+    /**
+     * Categorías de varios contenidos con una sola consulta IN, agrupadas por contentId
+     * (los contenidos sin categorías no aparecen en el mapa).
+     */
+    Map<Integer, List<CategoryResponse>> findCategories(Collection<Integer> contentIds);
+
+    /**
+     * Búsqueda de texto completo en título y descripción, ordenada por relevancia
+     * y paginada por keyset. contentType y userId son filtros opcionales.
+     */
+    default CursorPage<ContentResponse> search(String query, ContentType contentType, Integer userId, String cursor,
+            int size) {
+        return search(query, contentType, userId, cursor, size, true);
+    }
+
+    CursorPage<ContentResponse> search(String query, ContentType contentType, Integer userId, String cursor, int size,
+            boolean withCategories);
 
     ContentResponse findById(Integer contentId);
 
@@ -1,17 +1,35 @@
 package com.mediaflow.api.service;
 
+import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import com.mediaflow.api.cache.ContentResponseCache;
 import com.mediaflow.api.dto.CategoryResponse;
 import com.mediaflow.api.dto.ContentRequest;
+import com.mediaflow.api.dto.ContentCursor;
 import com.mediaflow.api.dto.ContentResponse;
+import com.mediaflow.api.dto.CursorPage;
+import com.mediaflow.api.dto.SearchCursor;
+import com.mediaflow.api.exception.BadRequestException;
+import com.mediaflow.api.extraction.MetadataExtractionPipeline;
 import com.mediaflow.api.mapper.CategoryMapper;
 import com.mediaflow.api.mapper.ContentMapper;
 import com.mediaflow.api.mapper.ImageMapper;
@@ -24,7 +42,11 @@ import com.mediaflow.api.model.Video;
 import com.mediaflow.api.repository.CategoryRepository;
 import com.mediaflow.api.repository.ContentRepository;
 import com.mediaflow.api.repository.ImageRepository;
+import com.mediaflow.api.repository.MetadataRepository;
 import com.mediaflow.api.repository.VideoRepository;
+import com.mediaflow.api.repository.projection.ContentCategoryRow;
+import com.mediaflow.api.repository.projection.ContentRow;
+import com.mediaflow.api.repository.projection.ContentSearchHit;
 
 import jakarta.persistence.EntityNotFoundException;
 import lombok.RequiredArgsConstructor;
@@ -33,40 +55,213 @@ import lombok.RequiredArgsConstructor;
 @RequiredArgsConstructor
 public class ContentServiceImpl implements ContentService {
 
+    private static final int MAX_SEARCH_QUERY_LENGTH = 200;
+
     private final ContentRepository contentRepository;
     private final VideoRepository videoRepository;
     private final ImageRepository imageRepository;
     private final CategoryRepository categoryRepository;
+    private final ContentResponseCache contentResponseCache;
+    private final MetadataRepository metadataRepository;
+    private final MetadataExtractionPipeline metadataExtractionPipeline;
+
+    @Override
+    @Transactional(readOnly = true)
+    public Page<ContentResponse> findAll(Pageable pageable, boolean withCategories) {
+        return toResponses(contentRepository.findAllRows(pageable), withCategories);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Page<ContentResponse> findByContentType(ContentType contentType, Pageable pageable,
+            boolean withCategories) {
+        return toResponses(contentRepository.findRowsByContentType(contentType, pageable), withCategories);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Page<ContentResponse> findByUserContentType(Integer userId, ContentType contentType, Pageable pageable,
+            boolean withCategories) {
+        return toResponses(contentRepository.findRowsByUserAndContentType(userId, contentType, pageable),
+                withCategories);
+    }
 
     @Override
-    public Page<ContentResponse> findAll(Pageable pageable) {
-        Page<Content> contents = contentRepository.findAll(pageable);
-        return contents.map(ContentMapper::toResponse);
+    @Transactional(readOnly = true)
+    public Page<ContentResponse> findByUserFiles(Integer userId, Pageable pageable, boolean withCategories) {
+        return toResponses(contentRepository.findRowsByUser(userId, pageable), withCategories);
     }
 
     @Override
-    public Page<ContentResponse> findByContentType(ContentType contentType, Pageable pageable) {
-        Page<Content> contents = contentRepository.findByContentType(contentType, pageable);
-        return contents.map(ContentMapper::toResponse);
+    @Transactional(readOnly = true)
+    public Slice<ContentResponse> findSlice(Integer userId, ContentType contentType, Pageable pageable,
+            boolean withCategories) {
+        Slice<ContentRow> rows;
+        if (userId != null && contentType != null) {
+            rows = contentRepository.sliceRowsByUserAndContentType(userId, contentType, pageable);
+        } else if (userId != null) {
+            rows = contentRepository.sliceRowsByUser(userId, pageable);
+        } else if (contentType != null) {
+            rows = contentRepository.sliceRowsByContentType(contentType, pageable);
+        } else {
+            rows = contentRepository.sliceAllRows(pageable);
+        }
+
+        Map<Integer, List<CategoryResponse>> categories = withCategories ? loadCategories(rows.getContent()) : Map.of();
+        return rows.map(row -> ContentMapper.toResponse(row, categories.get(row.contentId())));
+    }
+
+    @Override
+    public Long estimateTotal() {
+        return contentRepository.estimateCount();
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public CursorPage<ContentResponse> findKeyset(Integer userId, ContentType contentType, String cursor, int size,
+            boolean withCategories) {
+        if (size < 1) {
+            throw new BadRequestException("Page size must be greater than zero");
+        }
+        ContentCursor after = ContentCursor.decode(cursor);
+        // Se pide un elemento extra para saber si hay página siguiente sin ejecutar COUNT
+        Pageable limit = PageRequest.ofSize(size + 1);
+
+        List<ContentRow> rows;
+        if (userId != null && contentType != null) {
+            rows = contentRepository.findKeysetByUserAndContentType(userId, contentType,
+                    after.getCreated(), after.getContentId(), limit);
+        } else if (userId != null) {
+            rows = contentRepository.findKeysetByUser(userId, after.getCreated(), after.getContentId(), limit);
+        } else if (contentType != null) {
+            rows = contentRepository.findKeysetByContentType(contentType,
+                    after.getCreated(), after.getContentId(), limit);
+        } else {
+            rows = contentRepository.findKeyset(after.getCreated(), after.getContentId(), limit);
+        }
+
+        return toCursorPage(rows, size, withCategories);
     }
 
     @Override
-    public Page<ContentResponse> findByUserContentType(Integer userId, ContentType contentType, Pageable pageable) {
-        Page<Content> contents = contentRepository.findByUserAndContentType(userId, contentType, pageable);
-        return contents.map(ContentMapper::toResponse);
+    @Transactional(readOnly = true)
+    public List<ContentResponse> findAllById(List<Integer> contentIds, boolean withCategories) {
+        if (contentIds.isEmpty()) {
+            return List.of();
+        }
+        Map<Integer, ContentRow> rows = contentRepository.findRowsByIdIn(contentIds).stream()
+                .collect(Collectors.toMap(ContentRow::contentId, row -> row));
+        return toResponses(contentIds.stream().map(rows::get).filter(Objects::nonNull).collect(Collectors.toList()),
+                withCategories);
     }
 
     @Override
-    public Page<ContentResponse> findByUserFiles(Integer userId, Pageable pageable) {
-        Page<Content> contents = contentRepository.findByUserContents(userId, pageable);
-        return contents.map(ContentMapper::toResponse);
+    @Transactional(readOnly = true)
+    public void export(ContentType contentType, Integer userId, LocalDateTime createdFrom, LocalDateTime createdTo,
+            Consumer<List<ContentResponse>> sink) {
+        try (Stream<ContentRow> rows = contentRepository.streamRows(contentType, userId, createdFrom, createdTo)) {
+            List<ContentRow> batch = new ArrayList<>(ContentRepository.EXPORT_FETCH_SIZE);
+            Iterator<ContentRow> iterator = rows.iterator();
+            while (iterator.hasNext()) {
+                batch.add(iterator.next());
+                if (batch.size() == ContentRepository.EXPORT_FETCH_SIZE) {
+                    sink.accept(toResponses(batch, true));
+                    batch.clear();
+                }
+            }
+            if (!batch.isEmpty()) {
+                sink.accept(toResponses(batch, true));
+            }
+        }
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public CursorPage<ContentResponse> search(String query, ContentType contentType, Integer userId, String cursor,
+            int size, boolean withCategories) {
+        if (query == null || query.isBlank()) {
+            throw new BadRequestException("Search query is required");
+        }
+        if (query.length() > MAX_SEARCH_QUERY_LENGTH) {
+            throw new BadRequestException("Search query is too long (max " + MAX_SEARCH_QUERY_LENGTH + ")");
+        }
+        if (size < 1) {
+            throw new BadRequestException("Page size must be greater than zero");
+        }
+        SearchCursor after = SearchCursor.decode(cursor);
+
+        List<ContentSearchHit> hits = contentRepository.search(query,
+                contentType != null ? contentType.name() : null, userId,
+                after.getRank(), after.getContentId(), size + 1);
+
+        boolean hasNext = hits.size() > size;
+        if (hasNext) {
+            hits = hits.subList(0, size);
+        }
+
+        // Cargar las filas de la página respetando el orden por relevancia
+        List<Integer> ids = hits.stream().map(ContentSearchHit::getContentId).collect(Collectors.toList());
+
+        return CursorPage.<ContentResponse>builder()
+                .content(findAllById(ids, withCategories))
+                .size(size)
+                .hasNext(hasNext)
+                .nextCursor(hasNext ? SearchCursor.of(hits.get(hits.size() - 1)).encode() : null)
+                .build();
+    }
+
+    // rows trae un elemento extra cuando hay página siguiente
+    private CursorPage<ContentResponse> toCursorPage(List<ContentRow> rows, int size, boolean withCategories) {
+        boolean hasNext = rows.size() > size;
+        if (hasNext) {
+            rows = rows.subList(0, size);
+        }
+
+        return CursorPage.<ContentResponse>builder()
+                .content(toResponses(rows, withCategories))
+                .size(size)
+                .hasNext(hasNext)
+                .nextCursor(hasNext ? ContentCursor.of(rows.get(rows.size() - 1)).encode() : null)
+                .build();
+    }
+
+    private Page<ContentResponse> toResponses(Page<ContentRow> rows, boolean withCategories) {
+        Map<Integer, List<CategoryResponse>> categories = withCategories ? loadCategories(rows.getContent()) : Map.of();
+        return rows.map(row -> ContentMapper.toResponse(row, categories.get(row.contentId())));
+    }
+
+    private List<ContentResponse> toResponses(List<ContentRow> rows, boolean withCategories) {
+        Map<Integer, List<CategoryResponse>> categories = withCategories ? loadCategories(rows) : Map.of();
+        return rows.stream()
+                .map(row -> ContentMapper.toResponse(row, categories.get(row.contentId())))
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Carga las categorías de todas las filas de la página con una sola consulta IN.
+     */
+    private Map<Integer, List<CategoryResponse>> loadCategories(List<ContentRow> rows) {
+        return findCategories(rows.stream().map(ContentRow::contentId).collect(Collectors.toList()));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Map<Integer, List<CategoryResponse>> findCategories(Collection<Integer> contentIds) {
+        if (contentIds.isEmpty()) {
+            return Map.of();
+        }
+        return categoryRepository.findRowsByContentIds(contentIds).stream()
+                .collect(Collectors.groupingBy(ContentCategoryRow::contentId,
+                        Collectors.mapping(CategoryMapper::toResponse, Collectors.toList())));
     }
 
     @Override
     public ContentResponse findById(Integer contentId) {
-        Content content = contentRepository.findById(contentId)
-                .orElseThrow(() -> new EntityNotFoundException("Content not found: " + contentId));
-        return ContentMapper.toResponse(content);
+        return contentResponseCache.get(contentId, id -> {
+            Content content = contentRepository.findById(id)
+                    .orElseThrow(() -> new EntityNotFoundException("Content not found: " + id));
+            return ContentMapper.toResponse(content);
+        });
     }
 
     @Override
@@ -88,19 +283,21 @@ public class ContentServiceImpl implements ContentService {
             content.setImage(image);
         }
 
-        // Agregar categorías si se proporcionaron
+        // Resolver todas las categorías con una sola consulta IN
+        List<Category> categories = List.of();
         if (req.getCategoryIds() != null && !req.getCategoryIds().isEmpty()) {
-            List<Category> categories = new ArrayList<>();
-            for (Integer categoryId : req.getCategoryIds()) {
-                Category category = categoryRepository.findById(categoryId)
-                        .orElseThrow(() -> new EntityNotFoundException("Category not found: " + categoryId));
-                categories.add(category);
-            }
-            content.setCategories(categories);
+            categories = resolveCategories(req.getCategoryIds());
         }
 
-        // Guardar el contenido
-        Content saved = contentRepository.save(content);
+        // Guardar el contenido (flush: las filas de categorías referencian content_id)
+        Content saved = contentRepository.saveAndFlush(content);
+
+        if (!categories.isEmpty()) {
+            categoryRepository.linkContent(saved.getContentId(), categoryIds(categories));
+            saved.setCategories(new ArrayList<>(categories));
+        }
+
+        metadataExtractionPipeline.onContentCreated(saved.getContentId());
 
         // Devolver respuesta
         return ContentMapper.toResponse(saved);
@@ -136,18 +333,21 @@ public class ContentServiceImpl implements ContentService {
             imageRepository.save(content.getImage());
         }
 
-        // Actualizar categorías si se proporcionaron
+        // Actualizar categorías si se proporcionaron (reemplaza el conjunto actual)
         if (req.getCategoryIds() != null) {
-            List<Category> categories = new ArrayList<>();
-            for (Integer categoryId : req.getCategoryIds()) {
-                Category category = categoryRepository.findById(categoryId)
-                        .orElseThrow(() -> new EntityNotFoundException("Category not found: " + categoryId));
-                categories.add(category);
+            List<Category> categories = resolveCategories(req.getCategoryIds());
+            if (categories.isEmpty()) {
+                categoryRepository.unlinkContent(contentId);
+            } else {
+                Set<Integer> ids = categoryIds(categories);
+                categoryRepository.unlinkContentExcept(contentId, ids);
+                categoryRepository.linkContent(contentId, ids);
             }
-            content.setCategories(categories);
+            content.setCategories(new ArrayList<>(categories));
         }
 
         Content updated = contentRepository.save(content);
+        contentResponseCache.evict(contentId);
         return ContentMapper.toResponse(updated);
     }
 
@@ -157,7 +357,10 @@ public class ContentServiceImpl implements ContentService {
         if (!contentRepository.existsById(contentId)) {
             throw new EntityNotFoundException("Content not found: " + contentId);
         }
+        // Content no mapea su metadata: se elimina explícitamente antes que la fila que referencia
+        metadataRepository.deleteByContentId(contentId);
         contentRepository.deleteById(contentId);
+        contentResponseCache.evict(contentId);
     }
 
     @Override
@@ -176,29 +379,61 @@ public class ContentServiceImpl implements ContentService {
         Content content = contentRepository.findById(contentId)
                 .orElseThrow(() -> new EntityNotFoundException("Content not found: " + contentId));
 
-        for (Integer categoryId : categoryIds) {
-            Category category = categoryRepository.findById(categoryId)
-                    .orElseThrow(() -> new EntityNotFoundException("Category not found: " + categoryId));
+        List<Category> categories = resolveCategories(categoryIds);
+        if (!categories.isEmpty()) {
+            categoryRepository.linkContent(contentId, categoryIds(categories));
+        }
+
+        contentResponseCache.evict(contentId);
 
-            if (!content.getCategories().contains(category)) {
+        // Reflejar en la respuesta las categorías nuevas sin duplicar las existentes
+        Set<Integer> present = categoryIds(content.getCategories());
+        for (Category category : categories) {
+            if (present.add(category.getCategoryId())) {
                 content.getCategories().add(category);
             }
         }
 
-        Content updated = contentRepository.save(content);
-        return ContentMapper.toResponse(updated);
+        return ContentMapper.toResponse(content);
     }
 
     @Override
     @Transactional
     public void removeCategory(Integer contentId, Integer categoryId) {
-        Content content = contentRepository.findById(contentId)
-                .orElseThrow(() -> new EntityNotFoundException("Content not found: " + contentId));
+        if (!contentRepository.existsById(contentId)) {
+            throw new EntityNotFoundException("Content not found: " + contentId);
+        }
+        if (!categoryRepository.existsById(categoryId)) {
+            throw new EntityNotFoundException("Category not found: " + categoryId);
+        }
+
+        // Content.categories es el lado inverso: la fila se borra en categories_contents
+        categoryRepository.unlinkContentCategory(contentId, categoryId);
+        contentResponseCache.evict(contentId);
+    }
 
-        Category category = categoryRepository.findById(categoryId)
-                .orElseThrow(() -> new EntityNotFoundException("Category not found: " + categoryId));
+    /**
+     * Resuelve todas las categorías con una sola consulta IN.
+     * Si faltan IDs se reportan todos juntos en un único error.
+     */
+    private List<Category> resolveCategories(Collection<Integer> categoryIds) {
+        Set<Integer> requested = new LinkedHashSet<>(categoryIds);
+        if (requested.isEmpty()) {
+            return List.of();
+        }
+
+        List<Category> found = categoryRepository.findAllById(requested);
+        if (found.size() != requested.size()) {
+            Set<Integer> missing = new LinkedHashSet<>(requested);
+            missing.removeAll(categoryIds(found));
+            throw new EntityNotFoundException("Categories not found: " + missing);
+        }
+        return found;
+    }
 
-        content.getCategories().remove(category);
-        contentRepository.save(content);
+    private static Set<Integer> categoryIds(Collection<Category> categories) {
+        return categories.stream()
+                .map(Category::getCategoryId)
+                .collect(Collectors.toCollection(HashSet::new));
     }
 }
@@ -0,0 +1,309 @@
+package com.mediaflow.api.service;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.mediaflow.api.exception.BadRequestException;
+
+/**
+ * Filtro sobre Metadata.resultJson, traducido a un documento de contención (jsonb @>) y un
+ * predicado jsonpath (jsonb @@). Ambos operadores usan el índice GIN jsonb_path_ops.
+ *
+ * <pre>
+ * filtro   := clausula ( AND clausula )*
+ * clausula := ruta op valor | ruta [ campo op valor ( AND campo op valor )* ]
+ * ruta     := nombre ( . nombre )*
+ * op       := = | != | &gt; | &gt;= | &lt; | &lt;=
+ * valor    := "texto" | número | true | false | null
+ * </pre>
+ *
+ * Ejemplo: {@code tags[name = "cat" AND confidence > 0.8] AND source = "local"}. La forma con
+ * corchetes exige que un mismo elemento del arreglo cumpla todas las condiciones.
+ */
+public final class MetadataFilter {
+
+    static final int MAX_LENGTH = 1000;
+    static final int MAX_CLAUSES = 20;
+
+    private static final JsonNodeFactory NODES = JsonNodeFactory.instance;
+
+    private static final Pattern TOKEN = Pattern.compile(
+            "\\s*(?:(\"(?:[^\"\\\\]|\\\\.)*\")|(-?\\d+(?:\\.\\d+)?(?:[eE][+-]?\\d+)?)|([A-Za-z_][A-Za-z0-9_]*)"
+                    + "|(>=|<=|!=|=|>|<|\\[|\\]|\\.))");
+
+    private final String containment;
+    private final String predicate;
+
+    private MetadataFilter(String containment, String predicate) {
+        this.containment = containment;
+        this.predicate = predicate;
+    }
+
+    /**
+     * Documento para result_json @> (vacío si no hay igualdades).
+     */
+    public String containment() {
+        return containment;
+    }
+
+    /**
+     * Predicado para result_json @@ ("true" si todo se resolvió por contención).
+     */
+    public String predicate() {
+        return predicate;
+    }
+
+    public static MetadataFilter parse(String filter, ObjectMapper objectMapper) {
+        if (filter == null || filter.isBlank()) {
+            throw new BadRequestException("Filter is required");
+        }
+        if (filter.length() > MAX_LENGTH) {
+            throw new BadRequestException("Filter is too long (max " + MAX_LENGTH + ")");
+        }
+        return new Parser(tokenize(filter), objectMapper).parse();
+    }
+
+    private static List<String> tokenize(String filter) {
+        List<String> tokens = new ArrayList<>();
+        Matcher matcher = TOKEN.matcher(filter);
+        int position = 0;
+        while (position < filter.length()) {
+            if (filter.substring(position).isBlank()) {
+                break;
+            }
+            if (!matcher.find(position) || matcher.start() != position) {
+                throw new BadRequestException("Invalid filter near position " + position + ": " + filter);
+            }
+            tokens.add(matcher.group().strip());
+            position = matcher.end();
+        }
+        return tokens;
+    }
+
+    private record Condition(List<String> path, String op, JsonNode value) {
+    }
+
+    private static final class Parser {
+
+        private final List<String> tokens;
+        private final ObjectMapper objectMapper;
+        private final ObjectNode contains = NODES.objectNode();
+        private final List<String> predicates = new ArrayList<>();
+        private int index;
+        private int clauses;
+
+        Parser(List<String> tokens, ObjectMapper objectMapper) {
+            this.tokens = tokens;
+            this.objectMapper = objectMapper;
+        }
+
+        MetadataFilter parse() {
+            clause();
+            while (acceptKeyword("AND")) {
+                clause();
+            }
+            if (index < tokens.size()) {
+                throw new BadRequestException("Unexpected token in filter: " + tokens.get(index));
+            }
+            try {
+                String predicate = predicates.isEmpty() ? "true" : String.join(" && ", predicates);
+                return new MetadataFilter(objectMapper.writeValueAsString(contains), predicate);
+            } catch (JsonProcessingException ex) {
+                throw new BadRequestException("Invalid filter", ex);
+            }
+        }
+
+        private void clause() {
+            if (++clauses > MAX_CLAUSES) {
+                throw new BadRequestException("Too many conditions in filter (max " + MAX_CLAUSES + ")");
+            }
+            List<String> path = path();
+            if (accept("[")) {
+                List<Condition> conditions = new ArrayList<>();
+                conditions.add(condition(path()));
+                while (acceptKeyword("AND")) {
+                    conditions.add(condition(path()));
+                }
+                expect("]");
+                element(path, conditions);
+            } else {
+                comparison(condition(path));
+            }
+        }
+
+        // ruta = valor va a la contención; el resto (o una ruta ya usada) va al jsonpath
+        private void comparison(Condition condition) {
+            if ("=".equals(condition.op()) && put(contains, condition.path(), condition.value())) {
+                return;
+            }
+            predicates.add("exists(" + jsonPath(condition.path()) + " ? (@ " + jsonPathOp(condition.op()) + " "
+                    + jsonPathValue(condition.value()) + "))");
+        }
+
+        // Las igualdades del elemento se agregan a la contención como prefiltro indexado; si hay
+        // otras comparaciones, el jsonpath exige que el mismo elemento cumpla todas
+        private void element(List<String> path, List<Condition> conditions) {
+            ObjectNode item = NODES.objectNode();
+            boolean exact = true;
+            for (Condition condition : conditions) {
+                if (!"=".equals(condition.op()) || !put(item, condition.path(), condition.value())) {
+                    exact = false;
+                }
+            }
+            if (!item.isEmpty()) {
+                JsonNode existing = get(contains, path);
+                if (existing == null) {
+                    ArrayNode array = NODES.arrayNode();
+                    array.add(item);
+                    put(contains, path, array);
+                } else if (existing.isArray()) {
+                    ((ArrayNode) existing).add(item);
+                } else {
+                    throw new BadRequestException("Conflicting conditions for " + String.join(".", path));
+                }
+            }
+            if (!exact) {
+                String predicate = conditions.stream()
+                        .map(c -> "@" + jsonPathFields(c.path()) + " " + jsonPathOp(c.op()) + " "
+                                + jsonPathValue(c.value()))
+                        .collect(Collectors.joining(" && "));
+                predicates.add("exists(" + jsonPath(path) + "[*] ? (" + predicate + "))");
+            }
+        }
+
+        private Condition condition(List<String> path) {
+            String op = next("operator");
+            if (!List.of("=", "!=", ">", ">=", "<", "<=").contains(op)) {
+                throw new BadRequestException("Invalid operator in filter: " + op);
+            }
+            return new Condition(path, op, value());
+        }
+
+        private List<String> path() {
+            List<String> path = new ArrayList<>();
+            path.add(identifier());
+            while (accept(".")) {
+                path.add(identifier());
+            }
+            return path;
+        }
+
+        private String identifier() {
+            String token = next("field name");
+            if (!Character.isLetter(token.charAt(0)) && token.charAt(0) != '_') {
+                throw new BadRequestException("Expected a field name in filter but found: " + token);
+            }
+            return token;
+        }
+
+        private JsonNode value() {
+            String token = next("value");
+            if (token.startsWith("\"")) {
+                try {
+                    return NODES.textNode(objectMapper.readValue(token, String.class));
+                } catch (JsonProcessingException ex) {
+                    throw new BadRequestException("Invalid string in filter: " + token, ex);
+                }
+            }
+            if (token.equals("true") || token.equals("false")) {
+                return NODES.booleanNode(Boolean.parseBoolean(token));
+            }
+            if (token.equals("null")) {
+                return NODES.nullNode();
+            }
+            if (Character.isDigit(token.charAt(0)) || token.charAt(0) == '-') {
+                return NODES.numberNode(new BigDecimal(token));
+            }
+            throw new BadRequestException("Invalid value in filter: " + token);
+        }
+
+        private String jsonPath(List<String> path) {
+            return "$" + jsonPathFields(path);
+        }
+
+        // Nombres siempre entre comillas: no se interpretan como palabras reservadas de jsonpath
+        private String jsonPathFields(List<String> path) {
+            return path.stream().map(field -> ".\"" + field + "\"").collect(Collectors.joining());
+        }
+
+        private String jsonPathValue(JsonNode value) {
+            try {
+                return objectMapper.writeValueAsString(value);
+            } catch (JsonProcessingException ex) {
+                throw new BadRequestException("Invalid value in filter", ex);
+            }
+        }
+
+        private String jsonPathOp(String op) {
+            return "=".equals(op) ? "==" : op;
+        }
+
+        private static boolean put(ObjectNode root, List<String> path, JsonNode value) {
+            ObjectNode node = root;
+            for (int i = 0; i < path.size() - 1; i++) {
+                JsonNode child = node.get(path.get(i));
+                if (child == null) {
+                    child = node.putObject(path.get(i));
+                } else if (!child.isObject()) {
+                    return false;
+                }
+                node = (ObjectNode) child;
+            }
+            if (node.has(path.get(path.size() - 1))) {
+                return false;
+            }
+            node.set(path.get(path.size() - 1), value);
+            return true;
+        }
+
+        private static JsonNode get(ObjectNode root, List<String> path) {
+            JsonNode node = root;
+            for (String field : path) {
+                node = node.get(field);
+                if (node == null) {
+                    return null;
+                }
+            }
+            return node;
+        }
+
+        private boolean accept(String token) {
+            if (index < tokens.size() && tokens.get(index).equals(token)) {
+                index++;
+                return true;
+            }
+            return false;
+        }
+
+        private boolean acceptKeyword(String keyword) {
+            if (index < tokens.size() && tokens.get(index).equalsIgnoreCase(keyword)) {
+                index++;
+                return true;
+            }
+            return false;
+        }
+
+        private void expect(String token) {
+            if (!accept(token)) {
+                throw new BadRequestException("Expected '" + token + "' in filter");
+            }
+        }
+
+        private String next(String expected) {
+            if (index >= tokens.size()) {
+                throw new BadRequestException("Unexpected end of filter, expected " + expected);
+            }
+            return tokens.get(index++);
+        }
+    }
+}
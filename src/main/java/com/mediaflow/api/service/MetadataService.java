@@ -1,15 +1,50 @@
 package com.mediaflow.api.service;
 
+import java.util.List;
+
+import com.mediaflow.api.dto.ContentResponse;
+import com.mediaflow.api.dto.CursorPage;
+import com.mediaflow.api.dto.MetadataBatchResponse;
 import com.mediaflow.api.dto.MetadataRequest;
 import com.mediaflow.api.dto.MetadataResponse;
+import com.mediaflow.api.dto.MetadataSummaryResponse;
 
 public interface MetadataService {
     MetadataResponse findById(Integer metadataId);
     
     MetadataResponse findByContentId(Integer contentId);
+
+    /**
+     * Resúmenes (extractor, fecha, tamaño) sin leer result_json, en orden de content_id.
+     */
+    CursorPage<MetadataSummaryResponse> findSummaries(String cursor, int size);
+
+    /**
+     * Resúmenes de los contenidos indicados, en el orden pedido; los que no tienen metadata se omiten.
+     */
+    List<MetadataSummaryResponse> findSummaries(List<Integer> contentIds);
     
+    /**
+     * Contenidos cuya metadata cumple el filtro (ver MetadataFilter), paginados por content_id.
+     */
+    default CursorPage<ContentResponse> findContents(String filter, String cursor, int size) {
+        return findContents(filter, cursor, size, true);
+    }
+
+    CursorPage<ContentResponse> findContents(String filter, String cursor, int size, boolean withCategories);
+
     MetadataResponse create(MetadataRequest req);
     
+    /**
+     * Crea o reemplaza la metadata del contenido en una sola sentencia (ON CONFLICT (content_id)).
+     */
+    MetadataResponse upsert(MetadataRequest req);
+
+    /**
+     * Upsert masivo de resultados de extracción. Si un contenido se repite, gana el último.
+     */
+    MetadataBatchResponse upsertAll(List<MetadataRequest> requests);
+
     MetadataResponse update(Integer metadataId, MetadataRequest req);
     
     void delete(Integer metadataId);
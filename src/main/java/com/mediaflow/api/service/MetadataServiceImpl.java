@@ -1,15 +1,38 @@
 package com.mediaflow.api.service;
 
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mediaflow.api.cache.ContentResponseCache;
+import com.mediaflow.api.dto.ContentResponse;
+import com.mediaflow.api.dto.CursorPage;
+import com.mediaflow.api.dto.MetadataBatchResponse;
+import com.mediaflow.api.dto.MetadataCursor;
 import com.mediaflow.api.dto.MetadataRequest;
 import com.mediaflow.api.dto.MetadataResponse;
+import com.mediaflow.api.dto.MetadataSummaryResponse;
+import com.mediaflow.api.exception.BadRequestException;
 import com.mediaflow.api.mapper.MetadataMapper;
 import com.mediaflow.api.model.Content;
 import com.mediaflow.api.model.Metadata;
 import com.mediaflow.api.repository.ContentRepository;
 import com.mediaflow.api.repository.MetadataRepository;
+import com.mediaflow.api.repository.projection.MetadataSummaryRow;
+import com.mediaflow.api.repository.projection.MetadataUpsertRow;
 
 import jakarta.persistence.EntityNotFoundException;
 import lombok.RequiredArgsConstructor;
@@ -18,8 +41,19 @@ import lombok.RequiredArgsConstructor;
 @RequiredArgsConstructor
 public class MetadataServiceImpl implements MetadataService {
 
+    private static final int MAX_SUMMARY_IDS = 500;
+
     private final MetadataRepository metadataRepository;
     private final ContentRepository contentRepository;
+    private final ContentResponseCache contentResponseCache;
+    private final ContentService contentService;
+    private final ObjectMapper objectMapper;
+
+    @Value("${metadata.batch.chunk-size:1000}")
+    private int chunkSize;
+
+    @Value("${metadata.batch.max-items:10000}")
+    private int maxItems;
 
     @Override
     public MetadataResponse findById(Integer metadataId) {
@@ -35,6 +69,75 @@ public class MetadataServiceImpl implements MetadataService {
         return MetadataMapper.toResponse(metadata);
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public CursorPage<MetadataSummaryResponse> findSummaries(String cursor, int size) {
+        if (size < 1) {
+            throw new BadRequestException("Page size must be greater than zero");
+        }
+        MetadataCursor after = MetadataCursor.decode(cursor);
+
+        List<MetadataSummaryRow> rows = metadataRepository.findSummaryKeyset(after.getContentId(),
+                PageRequest.of(0, size + 1));
+
+        boolean hasNext = rows.size() > size;
+        if (hasNext) {
+            rows = rows.subList(0, size);
+        }
+
+        return CursorPage.<MetadataSummaryResponse>builder()
+                .content(rows.stream().map(MetadataMapper::toSummary).collect(Collectors.toList()))
+                .size(size)
+                .hasNext(hasNext)
+                .nextCursor(hasNext ? new MetadataCursor(rows.get(rows.size() - 1).contentId()).encode() : null)
+                .build();
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<MetadataSummaryResponse> findSummaries(List<Integer> contentIds) {
+        if (contentIds.size() > MAX_SUMMARY_IDS) {
+            throw new BadRequestException("Too many content IDs: " + contentIds.size() + " (max " + MAX_SUMMARY_IDS + ")");
+        }
+        if (contentIds.isEmpty()) {
+            return List.of();
+        }
+        Map<Integer, MetadataSummaryRow> rows = metadataRepository.findSummariesByContentIdIn(contentIds).stream()
+                .collect(Collectors.toMap(MetadataSummaryRow::contentId, row -> row));
+        return contentIds.stream()
+                .distinct()
+                .map(rows::get)
+                .filter(Objects::nonNull)
+                .map(MetadataMapper::toSummary)
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public CursorPage<ContentResponse> findContents(String filter, String cursor, int size,
+            boolean withCategories) {
+        if (size < 1) {
+            throw new BadRequestException("Page size must be greater than zero");
+        }
+        MetadataFilter parsed = MetadataFilter.parse(filter, objectMapper);
+        MetadataCursor after = MetadataCursor.decode(cursor);
+
+        List<Integer> ids = metadataRepository.findContentIdsByFilter(parsed.containment(), parsed.predicate(),
+                after.getContentId(), size + 1);
+
+        boolean hasNext = ids.size() > size;
+        if (hasNext) {
+            ids = ids.subList(0, size);
+        }
+
+        return CursorPage.<ContentResponse>builder()
+                .content(contentService.findAllById(ids, withCategories))
+                .size(size)
+                .hasNext(hasNext)
+                .nextCursor(hasNext ? new MetadataCursor(ids.get(ids.size() - 1)).encode() : null)
+                .build();
+    }
+
     @Override
     @Transactional
     public MetadataResponse create(MetadataRequest req) {
@@ -50,9 +153,84 @@ public class MetadataServiceImpl implements MetadataService {
         metadata.setContent(content);
         
         Metadata saved = metadataRepository.save(metadata);
+        contentResponseCache.evict(content.getContentId());
         return MetadataMapper.toResponse(saved);
     }
 
+    @Override
+    @Transactional
+    public MetadataResponse upsert(MetadataRequest req) {
+        requireJson(req);
+        Integer metadataId = metadataRepository.upsert(req.getContentId(), req.getExtractor(), req.getResultJson(),
+                req.getExtractedAt())
+                .orElseThrow(() -> new EntityNotFoundException("Content not found: " + req.getContentId()));
+        contentResponseCache.evict(req.getContentId());
+
+        return MetadataResponse.builder()
+                .metadataId(metadataId)
+                .extractor(req.getExtractor())
+                .resultJson(req.getResultJson())
+                .extractedAt(req.getExtractedAt())
+                .contentId(req.getContentId())
+                .build();
+    }
+
+    @Override
+    @Transactional
+    public MetadataBatchResponse upsertAll(List<MetadataRequest> requests) {
+        if (requests == null || requests.isEmpty()) {
+            throw new BadRequestException("At least one metadata result is required");
+        }
+        if (requests.size() > maxItems) {
+            throw new BadRequestException("Too many metadata results in one request: " + requests.size() + " (max " + maxItems + ")");
+        }
+
+        // Un mismo content_id no puede aparecer dos veces en un ON CONFLICT DO UPDATE: gana el último
+        Map<Integer, MetadataRequest> latest = new LinkedHashMap<>();
+        for (MetadataRequest req : requests) {
+            requireJson(req);
+            latest.remove(req.getContentId());
+            latest.put(req.getContentId(), req);
+        }
+
+        List<MetadataRequest> items = new ArrayList<>(latest.values());
+        Set<Integer> notFound = new LinkedHashSet<>(latest.keySet());
+        int inserted = 0;
+        int updated = 0;
+        for (int from = 0; from < items.size(); from += chunkSize) {
+            List<MetadataRequest> chunk = items.subList(from, Math.min(from + chunkSize, items.size()));
+            List<Integer> contentIds = new ArrayList<>(chunk.size());
+            List<String> extractors = new ArrayList<>(chunk.size());
+            List<String> resultJsons = new ArrayList<>(chunk.size());
+            List<LocalDate> extractedAts = new ArrayList<>(chunk.size());
+            for (MetadataRequest req : chunk) {
+                contentIds.add(req.getContentId());
+                extractors.add(req.getExtractor());
+                resultJsons.add(req.getResultJson());
+                extractedAts.add(req.getExtractedAt());
+            }
+
+            for (MetadataUpsertRow row : metadataRepository.upsertAll(contentIds, extractors, resultJsons, extractedAts)) {
+                notFound.remove(row.getContentId());
+                if (Boolean.TRUE.equals(row.getInserted())) {
+                    inserted++;
+                } else {
+                    updated++;
+                }
+            }
+        }
+
+        List<Integer> written = new ArrayList<>(latest.keySet());
+        written.removeAll(notFound);
+        contentResponseCache.evictAll(written);
+
+        return MetadataBatchResponse.builder()
+                .inserted(inserted)
+                .updated(updated)
+                .notFound(new ArrayList<>(notFound))
+                .build();
+    }
+
     @Override
     @Transactional
     public MetadataResponse update(Integer metadataId, MetadataRequest req) {
@@ -60,6 +238,7 @@ public class MetadataServiceImpl implements MetadataService {
                 .orElseThrow(() -> new EntityNotFoundException("Metadata not found: " + metadataId));
         
         MetadataMapper.copyToEntity(req, existing);
+        contentResponseCache.evict(existing.getContent().getContentId());
         
         // Si se proporciona un nuevo contentId
         if (req.getContentId() != null && !req.getContentId().equals(existing.getContent().getContentId())) {
@@ -69,14 +248,25 @@ public class MetadataServiceImpl implements MetadataService {
         }
         
         Metadata saved = metadataRepository.save(existing);
+        contentResponseCache.evict(saved.getContent().getContentId());
         return MetadataMapper.toResponse(saved);
     }
 
     @Override
+    @Transactional
     public void delete(Integer metadataId) {
-        if (!metadataRepository.existsById(metadataId)) {
-            throw new EntityNotFoundException("Metadata not found: " + metadataId);
+        Metadata existing = metadataRepository.findById(metadataId)
+                .orElseThrow(() -> new EntityNotFoundException("Metadata not found: " + metadataId));
+        metadataRepository.delete(existing);
+        contentResponseCache.evict(existing.getContent().getContentId());
+    }
+
+    // Un JSON inválido haría fallar el CAST a jsonb de toda la sentencia
+    private void requireJson(MetadataRequest req) {
+        try {
+            objectMapper.readTree(req.getResultJson());
+        } catch (JsonProcessingException ex) {
+            throw new BadRequestException("Invalid result JSON for content " + req.getContentId(), ex);
         }
-        metadataRepository.deleteById(metadataId);
     }
-}
\ No newline at end of file
+}
@@ -1,10 +1,19 @@
 package com.mediaflow.api.service;
 
+import java.util.List;
+import java.util.function.Predicate;
+
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 
+import com.mediaflow.api.dto.ContentResponse;
+import com.mediaflow.api.dto.CursorPage;
+import com.mediaflow.api.dto.PlayListAddResponse;
+import com.mediaflow.api.dto.PlayListCopyRequest;
 import com.mediaflow.api.dto.PlayListRequest;
 import com.mediaflow.api.dto.PlayListResponse;
+import com.mediaflow.api.dto.PlayListStatsResponse;
+import com.mediaflow.api.model.PlayList;
 
 public interface PlayListService {
     Page<PlayListResponse> findAll(Pageable pageable);
@@ -12,10 +21,24 @@ public interface PlayListService {
     Page<PlayListResponse> findByUserId(Integer userId, Pageable pageable);
     
     Page<PlayListResponse> findPublicPlaylists(Pageable pageable);
+
+    // Página del feed público ya serializada a JSON (más nuevas primero), sin consultar la base
+    byte[] findPublicFeedPage(int page, int size);
     
     Page<PlayListResponse> findByUserIdAndVisibility(Integer userId, boolean isPublic, Pageable pageable);
     
     PlayListResponse findById(Integer playlistId);
+
+    // Renumera las playlists con posiciones demasiado juntas; devuelve cuántas se renumeraron
+    int respaceCrowdedPlaylists();
+
+    // Agregados de varias playlists en una consulta (sin cargar sus contenidos)
+    default List<PlayListStatsResponse> findStats(List<Integer> playlistIds) {
+        return findStats(playlistIds, playlist -> true);
+    }
+
+    // Igual, omitiendo las playlists que no existen o que no cumplen visible
+    List<PlayListStatsResponse> findStats(List<Integer> playlistIds, Predicate<PlayList> visible);
     
     PlayListResponse create(PlayListRequest req);
     
@@ -23,9 +46,23 @@ public interface PlayListService {
     
     void delete(Integer playlistId);
     
-    PlayListResponse addContentToPlaylist(Integer playlistId, Integer contentId);
+    // afterContentId null agrega al final
+    PlayListResponse addContentToPlaylist(Integer playlistId, Integer contentId, Integer afterContentId);
     
-    PlayListResponse addMultipleContents(Integer playlistId, java.util.List<Integer> contentIds);
+    // Una sentencia para todos los IDs; informa agregados, duplicados y no encontrados
+    PlayListAddResponse addMultipleContents(Integer playlistId, java.util.List<Integer> contentIds);
     
+    // afterContentId null mueve al inicio
+    void moveContent(Integer playlistId, Integer contentId, Integer afterContentId);
+
     void removeContentFromPlaylist(Integer playlistId, Integer contentId);
+
+    // Nueva playlist con los contenidos de la original, en su orden (un solo INSERT ... SELECT)
+    PlayListResponse copy(Integer sourcePlaylistId, PlayListCopyRequest req);
+
+    // Agrega al final los contenidos de las playlists origen, en orden y sin duplicados
+    PlayListResponse merge(Integer targetPlaylistId, List<Integer> sourcePlaylistIds);
+
+    // Contenidos de la playlist paginados por keyset (el resumen solo trae conteo y miniaturas)
+    CursorPage<ContentResponse> findContents(Integer playlistId, String cursor, int size);
 }
\ No newline at end of file
@@ -1,60 +1,125 @@
 package com.mediaflow.api.service;
 
+import java.time.LocalDate;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
 
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import com.mediaflow.api.cache.PublicPlaylistFeed;
+import com.mediaflow.api.dto.ContentResponse;
+import com.mediaflow.api.dto.CursorPage;
+import com.mediaflow.api.dto.PlayListAddResponse;
+import com.mediaflow.api.dto.PlayListCopyRequest;
+import com.mediaflow.api.dto.PlayListItemCursor;
 import com.mediaflow.api.dto.PlayListRequest;
 import com.mediaflow.api.dto.PlayListResponse;
+import com.mediaflow.api.dto.PlayListStatsResponse;
+import com.mediaflow.api.exception.BadRequestException;
 import com.mediaflow.api.mapper.PlayListMapper;
-import com.mediaflow.api.model.Content;
+import com.mediaflow.api.model.ContentType;
 import com.mediaflow.api.model.PlayList;
+import com.mediaflow.api.model.PlayListItem;
 import com.mediaflow.api.repository.ContentRepository;
+import com.mediaflow.api.repository.PlayListItemRepository;
 import com.mediaflow.api.repository.PlayListRepository;
+import com.mediaflow.api.repository.projection.PlayListAddRow;
+import com.mediaflow.api.repository.projection.PlayListStatsRow;
+import com.mediaflow.api.repository.projection.PlayListThumbnailRow;
 
 import jakarta.persistence.EntityNotFoundException;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
 
+@Slf4j
 @Service
 @RequiredArgsConstructor
 public class PlayListServiceImpl implements PlayListService {
 
+    // Separación entre posiciones consecutivas: deja lugar para insertar sin renumerar
+    static final long POSITION_GAP = 1L << 20;
+
+    // Orden del feed público (igual que PublicPlaylistFeed) y tamaño de lote al reconstruirlo
+    private static final Sort PUBLIC_FEED_ORDER = Sort.by(Sort.Direction.DESC, "playListId");
+    private static final int PUBLIC_FEED_LOAD_CHUNK = 500;
+
+    private static final int MAX_STATS_IDS = 500;
+    // addItems expande la lista en un parámetro por ID: se acota por el límite de parámetros del driver
+    private static final int MAX_ADD_CONTENT_IDS = 1000;
+
     private final PlayListRepository playListRepository;
     private final ContentRepository contentRepository;
+    private final PlayListItemRepository playListItemRepository;
+    private final ContentService contentService;
+    private final PublicPlaylistFeed publicPlaylistFeed;
+    private final PlatformTransactionManager transactionManager;
+
+    // Miniaturas incluidas en el resumen de cada playlist
+    @Value("${playlist.preview.thumbnails:4}")
+    private int previewThumbnails;
+
+    // Hueco mínimo entre vecinos antes de que el barrido renumere la playlist
+    @Value("${playlist.respace.min-gap:1024}")
+    private long respaceMinGap;
+
+    // Playlists renumeradas por pasada del barrido
+    @Value("${playlist.respace.batch-size:100}")
+    private int respaceBatchSize;
 
     @Override
+    @Transactional(readOnly = true)
     public Page<PlayListResponse> findAll(Pageable pageable) {
         Page<PlayList> playlists = playListRepository.findAll(pageable);
-        return playlists.map(PlayListMapper::toResponse);
+        return toResponses(playlists);
     }
 
     @Override
+    @Transactional(readOnly = true)
     public Page<PlayListResponse> findByUserId(Integer userId, Pageable pageable) {
         Page<PlayList> playlists = playListRepository.findByUserId(userId, pageable);
-        return playlists.map(PlayListMapper::toResponse);
+        return toResponses(playlists);
     }
 
     @Override
+    @Transactional(readOnly = true)
     public Page<PlayListResponse> findPublicPlaylists(Pageable pageable) {
         Page<PlayList> playlists = playListRepository.findPublicPlaylists(pageable);
-        return playlists.map(PlayListMapper::toResponse);
+        return toResponses(playlists);
     }
 
     @Override
+    @Transactional(readOnly = true)
     public Page<PlayListResponse> findByUserIdAndVisibility(Integer userId, boolean isPublic, Pageable pageable) {
         Page<PlayList> playlists = playListRepository.findByUserIdAndVisibility(userId, isPublic, pageable);
-        return playlists.map(PlayListMapper::toResponse);
+        return toResponses(playlists);
     }
 
     @Override
+    @Transactional(readOnly = true)
     public PlayListResponse findById(Integer playlistId) {
-        PlayList playlist = playListRepository.findById(playlistId)
-                .orElseThrow(() -> new EntityNotFoundException("Playlist not found: " + playlistId));
-        return PlayListMapper.toResponse(playlist);
+        return toResponse(findPlaylist(playlistId));
     }
 
     @Override
@@ -62,27 +127,21 @@ public class PlayListServiceImpl implements PlayListService {
     public PlayListResponse create(PlayListRequest req) {
         PlayList playlist = PlayListMapper.toEntity(req);
         playlist.setUserId(req.getUserId());
+        PlayList saved = playListRepository.save(playlist);
 
-        // Agregar contenidos si se proporcionaron
+        // Agregar contenidos si se proporcionaron, en el orden recibido
         if (req.getContentIds() != null && !req.getContentIds().isEmpty()) {
-            List<Content> contents = new ArrayList<>();
-            for (Integer contentId : req.getContentIds()) {
-                Content content = contentRepository.findById(contentId)
-                        .orElseThrow(() -> new EntityNotFoundException("Content not found: " + contentId));
-                contents.add(content);
-            }
-            playlist.setContents(contents);
+            appendContents(saved.getPlayListId(), req.getContentIds());
         }
 
-        PlayList saved = playListRepository.save(playlist);
-        return PlayListMapper.toResponse(saved);
+        refreshPublicFeedAfterCommit(saved.getPlayListId());
+        return toResponse(saved);
     }
 
     @Override
     @Transactional
     public PlayListResponse update(Integer playlistId, PlayListRequest req) {
-        PlayList existing = playListRepository.findById(playlistId)
-                .orElseThrow(() -> new EntityNotFoundException("Playlist not found: " + playlistId));
+        PlayList existing = lockPlaylist(playlistId);
 
         PlayListMapper.copyToEntity(req, existing);
 
@@ -91,75 +150,410 @@ public class PlayListServiceImpl implements PlayListService {
             existing.setUserId(req.getUserId());
         }
 
-        // Actualizar contenidos si se proporcionan
+        // Reemplazar los contenidos si se proporcionan
         if (req.getContentIds() != null) {
-            List<Content> contents = new ArrayList<>();
-            for (Integer contentId : req.getContentIds()) {
-                Content content = contentRepository.findById(contentId)
-                        .orElseThrow(() -> new EntityNotFoundException("Content not found: " + contentId));
-                contents.add(content);
-            }
-            existing.setContents(contents);
+            playListItemRepository.deleteByPlayListId(playlistId);
+            appendContents(playlistId, req.getContentIds());
         }
 
         PlayList saved = playListRepository.save(existing);
-        return PlayListMapper.toResponse(saved);
+        refreshPublicFeedAfterCommit(playlistId);
+        return toResponse(saved);
     }
 
     @Override
+    @Transactional
     public void delete(Integer playlistId) {
-        if (!playListRepository.existsById(playlistId)) {
-            throw new EntityNotFoundException("Playlist not found: " + playlistId);
-        }
-        playListRepository.deleteById(playlistId);
+        PlayList playlist = lockPlaylist(playlistId);
+        playListItemRepository.deleteByPlayListId(playlistId);
+        playListRepository.delete(playlist);
+        refreshPublicFeedAfterCommit(playlistId);
     }
 
     @Override
     @Transactional
-    public PlayListResponse addContentToPlaylist(Integer playlistId, Integer contentId) {
-        PlayList playlist = playListRepository.findById(playlistId)
-                .orElseThrow(() -> new EntityNotFoundException("Playlist not found: " + playlistId));
+    public PlayListResponse addContentToPlaylist(Integer playlistId, Integer contentId, Integer afterContentId) {
+        PlayList playlist = lockPlaylist(playlistId);
 
-        Content content = contentRepository.findById(contentId)
-                .orElseThrow(() -> new EntityNotFoundException("Content not found: " + contentId));
+        if (!contentRepository.existsById(contentId)) {
+            throw new EntityNotFoundException("Content not found: " + contentId);
+        }
 
-        if (!playlist.getContents().contains(content)) {
-            playlist.getContents().add(content);
+        // Si ya está en la playlist no se modifica
+        if (playListItemRepository.findPosition(playlistId, contentId).isEmpty()) {
+            long position = afterContentId != null
+                    ? positionAfter(playlistId, afterContentId)
+                    : nextPosition(playlistId);
+            playListItemRepository.insertItem(playlistId, contentId, position);
+            refreshPublicFeedAfterCommit(playlistId);
         }
 
-        PlayList saved = playListRepository.save(playlist);
-        return PlayListMapper.toResponse(saved);
+        return toResponse(playlist);
     }
 
     @Override
     @Transactional
-    public PlayListResponse addMultipleContents(Integer playlistId, List<Integer> contentIds) {
-        PlayList playlist = playListRepository.findById(playlistId)
-                .orElseThrow(() -> new EntityNotFoundException("Playlist not found: " + playlistId));
+    public PlayListAddResponse addMultipleContents(Integer playlistId, List<Integer> contentIds) {
+        if (contentIds.size() > MAX_ADD_CONTENT_IDS) {
+            throw new BadRequestException("Too many content IDs: " + contentIds.size()
+                    + " (max " + MAX_ADD_CONTENT_IDS + ")");
+        }
+        lockPlaylist(playlistId);
+        if (contentIds.isEmpty()) {
+            return PlayListAddResponse.builder().added(List.of()).duplicates(List.of()).notFound(List.of()).build();
+        }
 
+        // Repetidos dentro de la misma petición cuentan como duplicados
+        Set<Integer> distinct = new LinkedHashSet<>();
+        List<Integer> duplicates = new ArrayList<>();
         for (Integer contentId : contentIds) {
-            Content content = contentRepository.findById(contentId)
-                    .orElseThrow(() -> new EntityNotFoundException("Content not found: " + contentId));
+            if (!distinct.add(contentId)) {
+                duplicates.add(contentId);
+            }
+        }
 
-            if (!playlist.getContents().contains(content)) {
-                playlist.getContents().add(content);
+        List<Integer> added = new ArrayList<>();
+        Set<Integer> notFound = new LinkedHashSet<>(distinct);
+        for (PlayListAddRow row : playListItemRepository.addItems(playlistId, distinct, POSITION_GAP)) {
+            notFound.remove(row.getContentId());
+            if (Boolean.TRUE.equals(row.getAdded())) {
+                added.add(row.getContentId());
+            } else {
+                duplicates.add(row.getContentId());
             }
         }
+        if (!added.isEmpty()) {
+            refreshPublicFeedAfterCommit(playlistId);
+        }
 
-        PlayList saved = playListRepository.save(playlist);
-        return PlayListMapper.toResponse(saved);
+        return PlayListAddResponse.builder()
+                .added(added)
+                .duplicates(duplicates)
+                .notFound(new ArrayList<>(notFound))
+                .build();
+    }
+
+    @Override
+    @Transactional
+    public void moveContent(Integer playlistId, Integer contentId, Integer afterContentId) {
+        lockPlaylist(playlistId);
+        if (contentId.equals(afterContentId)) {
+            throw new BadRequestException("A content cannot be moved after itself");
+        }
+        if (playListItemRepository.findPosition(playlistId, contentId).isEmpty()) {
+            throw new EntityNotFoundException("Content " + contentId + " is not in playlist " + playlistId);
+        }
+
+        playListItemRepository.updatePosition(playlistId, contentId, positionAfter(playlistId, afterContentId));
+        refreshPublicFeedAfterCommit(playlistId);
     }
 
     @Override
     @Transactional
     public void removeContentFromPlaylist(Integer playlistId, Integer contentId) {
-        PlayList playlist = playListRepository.findById(playlistId)
+        lockPlaylist(playlistId);
+
+        if (!contentRepository.existsById(contentId)) {
+            throw new EntityNotFoundException("Content not found: " + contentId);
+        }
+
+        if (playListItemRepository.deleteItem(playlistId, contentId) > 0) {
+            refreshPublicFeedAfterCommit(playlistId);
+        }
+    }
+
+    @Override
+    @Transactional
+    public PlayListResponse copy(Integer sourcePlaylistId, PlayListCopyRequest req) {
+        PlayList source = findPlaylist(sourcePlaylistId);
+        PlayList copy = playListRepository.save(PlayList.builder()
+                .title(req.getTitle() != null ? req.getTitle() : source.getTitle())
+                .description(req.getDescription() != null ? req.getDescription() : source.getDescription())
+                .isPublic(Boolean.TRUE.equals(req.getIsPublic()))
+                .createdAt(LocalDate.now())
+                .userId(req.getUserId())
+                .build());
+
+        // Los contenidos se copian con un INSERT ... SELECT, sin pasar por la JVM
+        playListItemRepository.mergeItems(copy.getPlayListId(), List.of(sourcePlaylistId), POSITION_GAP);
+        refreshPublicFeedAfterCommit(copy.getPlayListId());
+        return toResponse(copy);
+    }
+
+    @Override
+    @Transactional
+    public PlayListResponse merge(Integer targetPlaylistId, List<Integer> sourcePlaylistIds) {
+        PlayList target = lockPlaylist(targetPlaylistId);
+        List<Integer> sources = new ArrayList<>(new LinkedHashSet<>(sourcePlaylistIds));
+        if (sources.contains(targetPlaylistId)) {
+            throw new BadRequestException("A playlist cannot be merged into itself");
+        }
+
+        if (playListItemRepository.mergeItems(targetPlaylistId, sources, POSITION_GAP) > 0) {
+            refreshPublicFeedAfterCommit(targetPlaylistId);
+        }
+        return toResponse(target);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public CursorPage<ContentResponse> findContents(Integer playlistId, String cursor, int size) {
+        if (size < 1) {
+            throw new BadRequestException("Page size must be greater than zero");
+        }
+        PlayListItemCursor after = PlayListItemCursor.decode(cursor);
+        // Se pide un elemento extra para saber si hay página siguiente sin ejecutar COUNT
+        List<PlayListItem> items = playListItemRepository.findKeyset(playlistId,
+                after.getPosition(), after.getContentId(), PageRequest.ofSize(size + 1));
+
+        boolean hasNext = items.size() > size;
+        if (hasNext) {
+            items = items.subList(0, size);
+        }
+
+        List<Integer> contentIds = items.stream().map(PlayListItem::getContentId).collect(Collectors.toList());
+        return CursorPage.<ContentResponse>builder()
+                .content(contentService.findAllById(contentIds))
+                .size(size)
+                .hasNext(hasNext)
+                .nextCursor(hasNext ? PlayListItemCursor.of(items.get(items.size() - 1)).encode() : null)
+                .build();
+    }
+
+    /**
+     * Barrido periódico: renumera las playlists donde las inserciones dejaron vecinos a menos de
+     * playlist.respace.min-gap, así positionAfter casi nunca tiene que renumerar en línea (sigue
+     * haciéndolo si el hueco se agota entre dos pasadas). Cada playlist se renumera en su propia
+     * transacción y con su bloqueo, igual que las demás escrituras.
+     */
+    @Override
+    @Scheduled(fixedDelayString = "${playlist.respace.interval:PT10M}",
+            initialDelayString = "${playlist.respace.interval:PT10M}")
+    public int respaceCrowdedPlaylists() {
+        TransactionTemplate readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+        List<Integer> playlistIds = readOnly.execute(
+                status -> playListItemRepository.findCrowdedPlaylistIds(respaceMinGap, respaceBatchSize));
+        if (playlistIds == null || playlistIds.isEmpty()) {
+            return 0;
+        }
+
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        int respaced = 0;
+        for (Integer playlistId : playlistIds) {
+            Boolean done = transaction.execute(status -> {
+                // La playlist pudo borrarse desde la consulta
+                if (playListRepository.findByIdForUpdate(playlistId).isEmpty()) {
+                    return false;
+                }
+                playListItemRepository.renumber(playlistId, POSITION_GAP);
+                return true;
+            });
+            if (Boolean.TRUE.equals(done)) {
+                respaced++;
+            }
+        }
+        log.debug("Respaced {} playlists with positions closer than {}", respaced, respaceMinGap);
+        return respaced;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<PlayListStatsResponse> findStats(List<Integer> playlistIds, Predicate<PlayList> visible) {
+        // El límite se valida antes de cargar nada
+        if (playlistIds.size() > MAX_STATS_IDS) {
+            throw new BadRequestException("Too many playlist IDs: " + playlistIds.size() + " (max " + MAX_STATS_IDS + ")");
+        }
+        if (playlistIds.isEmpty()) {
+            return List.of();
+        }
+        Set<Integer> visibleIds = playListRepository.findAllById(playlistIds).stream()
+                .filter(visible)
+                .map(PlayList::getPlayListId)
+                .collect(Collectors.toSet());
+        // Se conserva el orden pedido
+        Set<Integer> ids = playlistIds.stream()
+                .filter(visibleIds::contains)
+                .collect(Collectors.toCollection(LinkedHashSet::new));
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        return new ArrayList<>(loadStats(ids).values());
+    }
+
+    @Override
+    public byte[] findPublicFeedPage(int page, int size) {
+        // Un solo hilo reconstruye; los demás siguen con la instantánea vencida
+        if (!publicPlaylistFeed.isFresh() && publicPlaylistFeed.beginRebuild()) {
+            try {
+                publicPlaylistFeed.load(readOnlyTransaction().execute(status -> loadPublicFeed()));
+            } catch (RuntimeException ex) {
+                publicPlaylistFeed.abortRebuild();
+                throw ex;
+            }
+        }
+        byte[] body = publicPlaylistFeed.page(page, size);
+        if (body == null) {
+            // Arranque en frío y la primera carga no terminó a tiempo: se responde desde la base
+            Page<PlayListResponse> fallback = readOnlyTransaction().execute(status -> toResponses(
+                    playListRepository.findPublicPlaylists(PageRequest.of(page, size, PUBLIC_FEED_ORDER))));
+            body = publicPlaylistFeed.serialize(fallback);
+        }
+        return body;
+    }
+
+    private List<PlayListResponse> loadPublicFeed() {
+        List<PlayListResponse> entries = new ArrayList<>();
+        Slice<PlayList> slice = playListRepository.slicePublicPlaylists(
+                PageRequest.of(0, PUBLIC_FEED_LOAD_CHUNK, PUBLIC_FEED_ORDER));
+        entries.addAll(summarize(slice.getContent()));
+        while (slice.hasNext()) {
+            slice = playListRepository.slicePublicPlaylists(slice.nextPageable());
+            entries.addAll(summarize(slice.getContent()));
+        }
+        return entries;
+    }
+
+    // Actualiza solo esta playlist en el feed público, con el estado ya confirmado
+    private void refreshPublicFeedAfterCommit(Integer playlistId) {
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                PlayListResponse response = readOnlyTransaction().execute(status -> playListRepository
+                        .findById(playlistId)
+                        .filter(PlayList::isPublic)
+                        .map(playlist -> toResponse(playlist))
+                        .orElse(null));
+                if (response != null) {
+                    publicPlaylistFeed.put(response);
+                } else {
+                    publicPlaylistFeed.remove(playlistId);
+                }
+            }
+        });
+    }
+
+    // Transacción propia: también se usa en afterCommit, cuando la transacción anterior ya terminó
+    private TransactionTemplate readOnlyTransaction() {
+        TransactionTemplate template = new TransactionTemplate(transactionManager);
+        template.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        template.setReadOnly(true);
+        return template;
+    }
+
+    // Las escrituras sobre los contenidos de una playlist se serializan con el bloqueo de su fila:
+    // calcular posiciones y renumerar no compite con otra escritura de la misma playlist
+    private PlayList lockPlaylist(Integer playlistId) {
+        return playListRepository.findByIdForUpdate(playlistId)
+                .orElseThrow(() -> new EntityNotFoundException("Playlist not found: " + playlistId));
+    }
+
+    private PlayList findPlaylist(Integer playlistId) {
+        return playListRepository.findById(playlistId)
                 .orElseThrow(() -> new EntityNotFoundException("Playlist not found: " + playlistId));
+    }
+
+    private void requireContents(Collection<Integer> contentIds) {
+        Set<Integer> missing = new LinkedHashSet<>(contentIds);
+        missing.removeAll(contentRepository.findExistingIds(contentIds));
+        if (!missing.isEmpty()) {
+            throw new EntityNotFoundException("Contents not found: " + missing);
+        }
+    }
+
+    // Agrega al final en una sentencia; los que ya están en la playlist se omiten
+    private void appendContents(Integer playlistId, List<Integer> contentIds) {
+        if (contentIds.isEmpty()) {
+            return;
+        }
+        List<Integer> distinct = new ArrayList<>(new LinkedHashSet<>(contentIds));
+        requireContents(distinct);
+        Long last = playListItemRepository.findLastPosition(playlistId);
+        playListItemRepository.appendItems(playlistId, distinct, last != null ? last : 0L, POSITION_GAP);
+    }
+
+    private long nextPosition(Integer playlistId) {
+        Long last = playListItemRepository.findLastPosition(playlistId);
+        return last != null ? last + POSITION_GAP : POSITION_GAP;
+    }
+
+    // Posición libre justo después de afterContentId (null = al inicio de la playlist)
+    private long positionAfter(Integer playlistId, Integer afterContentId) {
+        Long previous = null;
+        if (afterContentId != null) {
+            previous = playListItemRepository.findPosition(playlistId, afterContentId)
+                    .orElseThrow(() -> new EntityNotFoundException(
+                            "Content " + afterContentId + " is not in playlist " + playlistId));
+        }
+        Long next = previous != null
+                ? playListItemRepository.findNextPosition(playlistId, previous)
+                : playListItemRepository.findFirstPosition(playlistId);
+
+        if (previous == null && next == null) {
+            return POSITION_GAP;
+        }
+        if (previous == null) {
+            return next - POSITION_GAP;
+        }
+        if (next == null) {
+            return previous + POSITION_GAP;
+        }
+        if (next - previous < 2) {
+            // Sin hueco entre los vecinos (el barrido no llegó a tiempo): se renumera en una sentencia
+            playListItemRepository.renumber(playlistId, POSITION_GAP);
+            return positionAfter(playlistId, afterContentId);
+        }
+        return previous + (next - previous) / 2;
+    }
+
+    private Page<PlayListResponse> toResponses(Page<PlayList> playlists) {
+        return new PageImpl<>(summarize(playlists.getContent()), playlists.getPageable(),
+                playlists.getTotalElements());
+    }
 
-        Content content = contentRepository.findById(contentId)
-                .orElseThrow(() -> new EntityNotFoundException("Content not found: " + contentId));
+    // Resumen de la página: agregados y miniaturas en dos consultas, sin cargar los contenidos
+    private List<PlayListResponse> summarize(List<PlayList> playlists) {
+        if (playlists.isEmpty()) {
+            return List.of();
+        }
+        List<Integer> ids = playlists.stream().map(PlayList::getPlayListId).collect(Collectors.toList());
+        Map<Integer, PlayListStatsResponse> stats = loadStats(ids);
+        Map<Integer, List<String>> thumbnails = playListRepository.findThumbnails(ids, previewThumbnails).stream()
+                .collect(Collectors.groupingBy(PlayListThumbnailRow::getPlayListId,
+                        Collectors.mapping(PlayListThumbnailRow::getThumbnailUrl, Collectors.toList())));
+        return playlists.stream()
+                .map(playlist -> PlayListMapper.toResponse(playlist,
+                        stats.get(playlist.getPlayListId()),
+                        thumbnails.get(playlist.getPlayListId())))
+                .collect(Collectors.toList());
+    }
+
+    private PlayListResponse toResponse(PlayList playlist) {
+        return summarize(List.of(playlist)).get(0);
+    }
 
-        playlist.getContents().remove(content);
-        playListRepository.save(playlist);
+    // Una fila por (playlist, tipo de contenido); las playlists vacías quedan en cero
+    private Map<Integer, PlayListStatsResponse> loadStats(Collection<Integer> playlistIds) {
+        Map<Integer, List<PlayListStatsRow>> rows = playListRepository.findStats(playlistIds).stream()
+                .collect(Collectors.groupingBy(PlayListStatsRow::playListId));
+
+        Map<Integer, PlayListStatsResponse> stats = new LinkedHashMap<>();
+        for (Integer playlistId : playlistIds) {
+            List<PlayListStatsRow> byType = rows.get(playlistId);
+            if (byType == null) {
+                stats.put(playlistId, PlayListStatsResponse.empty(playlistId));
+                continue;
+            }
+            Map<ContentType, Long> contentTypes = new EnumMap<>(ContentType.class);
+            byType.forEach(row -> contentTypes.put(row.contentType(), row.itemCount()));
+            stats.put(playlistId, PlayListStatsResponse.builder()
+                    .playListId(playlistId)
+                    .itemCount(byType.stream().mapToLong(PlayListStatsRow::itemCount).sum())
+                    .totalDurationSeconds(byType.stream().mapToLong(PlayListStatsRow::totalDurationSeconds).sum())
+                    .totalFileSizeMB(byType.stream().mapToLong(PlayListStatsRow::totalFileSizeMB).sum())
+                    .contentTypes(contentTypes)
+                    .build());
+        }
+        return stats;
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,10 @@
+-- La huella pasa a ser el SHA-256 (hex) de storage_url completa: la query string puede identificar
+-- el objeto (por ejemplo ?id=...), así que recortarla juntaba archivos distintos. Debe coincidir
+-- con Content.fingerprint.
+UPDATE contents
+    SET fingerprint = encode(sha256(convert_to(storage_url, 'UTF8')), 'hex')
+    WHERE storage_url IS NOT NULL;
+
+-- Los resultados guardados usan huellas viejas y pueden venir de extractores que no dependen solo
+-- del medio; se descartan y se vuelven a generar con la próxima extracción.
+DELETE FROM extraction_results;
@@ -0,0 +1,12 @@
+-- Índices para la paginación por keyset de contenidos: (created, content_id) descendente
+CREATE INDEX IF NOT EXISTS idx_contents_created_id
+    ON contents (created DESC, content_id DESC);
+
+CREATE INDEX IF NOT EXISTS idx_contents_user_created_id
+    ON contents (user_id, created DESC, content_id DESC);
+
+CREATE INDEX IF NOT EXISTS idx_contents_type_created_id
+    ON contents (content_type, created DESC, content_id DESC);
+
+CREATE INDEX IF NOT EXISTS idx_contents_user_type_created_id
+    ON contents (user_id, content_type, created DESC, content_id DESC);
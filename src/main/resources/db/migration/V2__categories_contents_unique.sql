@@ -0,0 +1,10 @@
+-- Elimina filas duplicadas y garantiza una sola fila por (content_id, category_id),
+-- necesario para los INSERT ... ON CONFLICT DO NOTHING de categorías
+DELETE FROM categories_contents a
+    USING categories_contents b
+    WHERE a.ctid < b.ctid
+      AND a.category_id = b.category_id
+      AND a.content_id = b.content_id;
+
+CREATE UNIQUE INDEX IF NOT EXISTS ux_categories_contents_content_category
+    ON categories_contents (content_id, category_id);
@@ -0,0 +1,14 @@
+-- IDs de contents, videos e images asignados por secuencia con pool de 50 (Hibernate pooled optimizer),
+-- lo que permite los INSERT por lotes de JDBC. El INCREMENT debe coincidir con allocationSize.
+DO $$
+DECLARE
+    target record;
+BEGIN
+    FOR target IN
+        SELECT * FROM (VALUES ('contents', 'content_id'), ('videos', 'video_id'), ('images', 'image_id'))
+            AS t(table_name, column_name)
+    LOOP
+        EXECUTE format('ALTER SEQUENCE %s INCREMENT BY 50',
+                pg_get_serial_sequence(target.table_name, target.column_name));
+    END LOOP;
+END $$;
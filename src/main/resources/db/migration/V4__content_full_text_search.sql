@@ -0,0 +1,52 @@
+-- Búsqueda de texto completo sobre título y descripción.
+-- Cada fila usa la configuración de texto que corresponde a su idioma (contents.language).
+
+CREATE OR REPLACE FUNCTION content_ts_config(lang text)
+RETURNS regconfig
+LANGUAGE sql IMMUTABLE PARALLEL SAFE AS $$
+    SELECT CASE lower(trim(coalesce(lang, '')))
+        WHEN 'es' THEN 'spanish'::regconfig
+        WHEN 'es-mx' THEN 'spanish'::regconfig
+        WHEN 'spanish' THEN 'spanish'::regconfig
+        WHEN 'español' THEN 'spanish'::regconfig
+        WHEN 'espanol' THEN 'spanish'::regconfig
+        WHEN 'en' THEN 'english'::regconfig
+        WHEN 'en-us' THEN 'english'::regconfig
+        WHEN 'english' THEN 'english'::regconfig
+        WHEN 'inglés' THEN 'english'::regconfig
+        WHEN 'ingles' THEN 'english'::regconfig
+        WHEN 'pt' THEN 'portuguese'::regconfig
+        WHEN 'portuguese' THEN 'portuguese'::regconfig
+        WHEN 'fr' THEN 'french'::regconfig
+        WHEN 'french' THEN 'french'::regconfig
+        WHEN 'de' THEN 'german'::regconfig
+        WHEN 'german' THEN 'german'::regconfig
+        WHEN 'it' THEN 'italian'::regconfig
+        WHEN 'italian' THEN 'italian'::regconfig
+        ELSE 'simple'::regconfig
+    END
+$$;
+
+-- La consulta del usuario se analiza con todas las configuraciones usadas por content_ts_config,
+-- así el tsquery no depende de la fila y el índice GIN se puede usar
+CREATE OR REPLACE FUNCTION content_search_query(query text)
+RETURNS tsquery
+LANGUAGE sql IMMUTABLE PARALLEL SAFE AS $$
+    SELECT websearch_to_tsquery('spanish'::regconfig, query)
+        || websearch_to_tsquery('english'::regconfig, query)
+        || websearch_to_tsquery('portuguese'::regconfig, query)
+        || websearch_to_tsquery('french'::regconfig, query)
+        || websearch_to_tsquery('german'::regconfig, query)
+        || websearch_to_tsquery('italian'::regconfig, query)
+        || websearch_to_tsquery('simple'::regconfig, query)
+$$;
+
+ALTER TABLE contents
+    ADD COLUMN IF NOT EXISTS search_vector tsvector
+    GENERATED ALWAYS AS (
+        setweight(to_tsvector(content_ts_config(language), coalesce(title, '')), 'A')
+        || setweight(to_tsvector(content_ts_config(language), coalesce(description, '')), 'B')
+    ) STORED;
+
+CREATE INDEX IF NOT EXISTS idx_contents_search_vector
+    ON contents USING GIN (search_vector);
@@ -0,0 +1,3 @@
+-- Conteo, miniaturas y contenidos paginados de una playlist leen playlists_contents por playlist_id
+CREATE INDEX IF NOT EXISTS idx_playlists_contents_playlist
+    ON playlists_contents (playlist_id, content_id);
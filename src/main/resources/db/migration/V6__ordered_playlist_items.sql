@@ -0,0 +1,31 @@
+-- Playlists ordenadas: cada fila de playlists_contents guarda su posición.
+-- Las posiciones son dispersas (separadas por 1048576), así insertar o mover un elemento
+-- escribe una sola fila; solo cuando se agota el hueco entre dos vecinos se renumera la playlist.
+
+-- Una sola fila por (playlist_id, content_id)
+DELETE FROM playlists_contents a
+    USING playlists_contents b
+    WHERE a.ctid < b.ctid
+      AND a.playlist_id = b.playlist_id
+      AND a.content_id = b.content_id;
+
+ALTER TABLE playlists_contents ADD COLUMN IF NOT EXISTS position BIGINT;
+
+-- Orden inicial: orden físico de inserción
+UPDATE playlists_contents pc
+    SET position = r.rn * 1048576
+    FROM (SELECT ctid, ROW_NUMBER() OVER (PARTITION BY playlist_id ORDER BY ctid) AS rn
+          FROM playlists_contents) r
+    WHERE pc.ctid = r.ctid;
+
+ALTER TABLE playlists_contents ALTER COLUMN position SET NOT NULL;
+
+CREATE UNIQUE INDEX IF NOT EXISTS ux_playlists_contents_playlist_content
+    ON playlists_contents (playlist_id, content_id);
+
+-- No es único: la renumeración actualiza varias filas en una sentencia
+CREATE INDEX IF NOT EXISTS idx_playlists_contents_playlist_position
+    ON playlists_contents (playlist_id, position, content_id);
+
+-- Cubierto por ux_playlists_contents_playlist_content
+DROP INDEX IF EXISTS idx_playlists_contents_playlist;
@@ -0,0 +1,5 @@
+-- Consultas por contenido del JSON de metadata (@> y @@ jsonpath).
+-- jsonb_path_ops indexa solo rutas con valor: más chico y rápido que jsonb_ops para contención,
+-- a cambio de no soportar los operadores de existencia de claves (?, ?|, ?&).
+CREATE INDEX IF NOT EXISTS idx_metadata_result_json
+    ON metadata USING GIN (result_json jsonb_path_ops);
@@ -0,0 +1,9 @@
+-- Una sola fila de metadata por contenido (se conserva la más reciente),
+-- necesario para los INSERT ... ON CONFLICT (content_id) de los upserts
+DELETE FROM metadata a
+    USING metadata b
+    WHERE a.content_id = b.content_id
+      AND a.metadata_id < b.metadata_id;
+
+CREATE UNIQUE INDEX IF NOT EXISTS ux_metadata_content_id
+    ON metadata (content_id);
@@ -0,0 +1,17 @@
+-- Huella del medio de cada contenido: SHA-256 (hex) de storage_url sin query string ni fragmento.
+-- Reposts y URLs firmadas del mismo archivo comparten huella. Debe coincidir con Content.fingerprint.
+ALTER TABLE contents ADD COLUMN IF NOT EXISTS fingerprint VARCHAR(64);
+
+UPDATE contents
+    SET fingerprint = encode(sha256(convert_to(split_part(split_part(storage_url, '?', 1), '#', 1), 'UTF8')), 'hex')
+    WHERE fingerprint IS NULL;
+
+-- Resultados de extracción por (huella, extractor): la metadata de un medio ya analizado se copia
+-- de aquí en vez de volver a llamar al extractor. No depende de contents: sobrevive a sus borrados.
+CREATE TABLE IF NOT EXISTS extraction_results (
+    fingerprint VARCHAR(64) NOT NULL,
+    extractor VARCHAR(120) NOT NULL,
+    result_json JSONB NOT NULL,
+    created TIMESTAMP NOT NULL DEFAULT now(),
+    PRIMARY KEY (fingerprint, extractor)
+);
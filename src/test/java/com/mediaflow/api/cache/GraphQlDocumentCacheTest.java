@@ -0,0 +1,75 @@
+package com.mediaflow.api.cache;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import org.junit.jupiter.api.Test;
+
+import graphql.ExecutionInput;
+import graphql.execution.preparsed.PreparsedDocumentEntry;
+import graphql.parser.Parser;
+
+/**
+ * Caché de documentos parseados y protocolo de consultas persistidas automáticas.
+ */
+class GraphQlDocumentCacheTest {
+
+    private static final String QUERY = "{ allContents(page: 0, size: 10) { content { contentId } } }";
+
+    private final GraphQlDocumentCache documentCache = new GraphQlDocumentCache(100);
+    private final AtomicInteger parses = new AtomicInteger();
+    private final Function<ExecutionInput, PreparsedDocumentEntry> parseAndValidate = input -> {
+        parses.incrementAndGet();
+        return new PreparsedDocumentEntry(Parser.parse(input.getQuery()));
+    };
+
+    @Test
+    void sameQueryIsParsedOnce() {
+        PreparsedDocumentEntry first = documentCache.getDocumentAsync(input(QUERY, null), parseAndValidate).join();
+        PreparsedDocumentEntry second = documentCache.getDocumentAsync(input(QUERY, null), parseAndValidate).join();
+
+        assertThat(second).isSameAs(first);
+        assertThat(parses).hasValue(1);
+    }
+
+    @Test
+    void persistedQueryIsRegisteredWithTheFullTextAndThenServedByHash() {
+        String hash = GraphQlDocumentCache.sha256(QUERY);
+
+        PreparsedDocumentEntry miss = documentCache.getDocumentAsync(input("", hash), parseAndValidate).join();
+        assertThat(miss.getErrors()).singleElement()
+                .satisfies(error -> assertThat(error.getMessage())
+                        .isEqualTo(GraphQlDocumentCache.PERSISTED_QUERY_NOT_FOUND));
+
+        PreparsedDocumentEntry registered = documentCache.getDocumentAsync(input(QUERY, hash), parseAndValidate)
+                .join();
+        PreparsedDocumentEntry hit = documentCache.getDocumentAsync(input("", hash), parseAndValidate).join();
+
+        assertThat(hit).isSameAs(registered);
+        assertThat(hit.hasErrors()).isFalse();
+        assertThat(parses).hasValue(1);
+    }
+
+    @Test
+    void hashThatDoesNotMatchTheQueryIsRejected() {
+        PreparsedDocumentEntry entry = documentCache
+                .getDocumentAsync(input(QUERY, GraphQlDocumentCache.sha256("{ other }")), parseAndValidate).join();
+
+        assertThat(entry.getErrors()).singleElement()
+                .satisfies(error -> assertThat(error.getMessage())
+                        .isEqualTo(GraphQlDocumentCache.PERSISTED_QUERY_HASH_MISMATCH));
+        assertThat(parses).hasValue(0);
+        assertThat(documentCache.size()).isZero();
+    }
+
+    private static ExecutionInput input(String query, String hash) {
+        ExecutionInput.Builder builder = ExecutionInput.newExecutionInput().query(query);
+        if (hash != null) {
+            builder.extensions(Map.of("persistedQuery", Map.of("version", 1, "sha256Hash", hash)));
+        }
+        return builder.build();
+    }
+}
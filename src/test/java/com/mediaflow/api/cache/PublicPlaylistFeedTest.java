@@ -0,0 +1,67 @@
+package com.mediaflow.api.cache;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+
+import org.junit.jupiter.api.Test;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mediaflow.api.dto.PlayListResponse;
+
+/**
+ * Reconstrucción del feed público con un solo hilo y cambios concurrentes aplicados a la carga.
+ */
+class PublicPlaylistFeedTest {
+
+    private final PublicPlaylistFeed feed = new PublicPlaylistFeed(new ObjectMapper(), Set.of(10),
+            Duration.ofMinutes(5), Duration.ofMillis(50));
+
+    @Test
+    void onlyOneCallerRebuildsAtATime() {
+        assertThat(feed.beginRebuild()).isTrue();
+        assertThat(feed.beginRebuild()).isFalse();
+
+        feed.load(List.of(playlist(1, "first")));
+
+        assertThat(feed.isFresh()).isTrue();
+        assertThat(feed.beginRebuild()).isTrue();
+        feed.abortRebuild();
+    }
+
+    @Test
+    void changesDuringTheRebuildAreAppliedToTheNewSnapshot() {
+        feed.beginRebuild();
+        feed.put(playlist(3, "created while loading"));
+        feed.put(playlist(1, "renamed while loading"));
+        feed.remove(2);
+
+        // La carga leyó el estado anterior a esos cambios
+        feed.load(List.of(playlist(1, "first"), playlist(2, "second")));
+
+        String page = new String(feed.page(0, 10), StandardCharsets.UTF_8);
+        assertThat(page).contains("created while loading", "renamed while loading");
+        assertThat(page).doesNotContain("\"title\":\"first\"", "\"title\":\"second\"");
+        assertThat(page.indexOf("created while loading")).isLessThan(page.indexOf("renamed while loading"));
+    }
+
+    @Test
+    void coldStartWithoutARebuildReturnsNothing() {
+        assertThat(feed.page(0, 10)).isNull();
+
+        feed.beginRebuild();
+        // La carga no termina dentro de load-wait: el llamador responde desde la base
+        assertThat(feed.page(0, 10)).isNull();
+    }
+
+    private static PlayListResponse playlist(int playListId, String title) {
+        return PlayListResponse.builder()
+                .playListId(playListId)
+                .title(title)
+                .isPublic(true)
+                .build();
+    }
+}
@@ -0,0 +1,340 @@
+package com.mediaflow.api.extraction;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mediaflow.api.cache.ContentResponseCache;
+import com.mediaflow.api.model.Content;
+import com.mediaflow.api.model.ContentType;
+import com.mediaflow.api.repository.ContentRepository;
+import com.mediaflow.api.repository.ExtractionResultRepository;
+import com.mediaflow.api.repository.MetadataRepository;
+
+/**
+ * Pipeline de extracción sin base de datos: reintentos, límite por extractor, rechazo con la
+ * cola llena y reutilización de resultados por huella, usando extractores en memoria. El
+ * extractor probe se prueba sobre medios armados en memoria, sin red.
+ */
+class MetadataExtractionPipelineTest {
+
+    private ContentRepository contentRepository;
+    private MetadataRepository metadataRepository;
+    private ExtractionResultRepository extractionResultRepository;
+    private MetadataExtractionPipeline pipeline;
+
+    @BeforeEach
+    void setUp() {
+        contentRepository = mock(ContentRepository.class);
+        metadataRepository = mock(MetadataRepository.class);
+        extractionResultRepository = mock(ExtractionResultRepository.class);
+        when(contentRepository.findById(anyInt())).thenAnswer(invocation -> Optional.of(content(invocation.getArgument(0))));
+    }
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        if (pipeline != null) {
+            pipeline.shutdown();
+        }
+    }
+
+    @Test
+    void retriesTransientFailuresAndPersistsTheResult() throws InterruptedException {
+        AtomicInteger calls = new AtomicInteger();
+        pipeline = pipeline(100, 3, new TestExtractor("flaky", 0, source -> {
+            if (calls.incrementAndGet() < 3) {
+                throw new IllegalStateException("temporarily unavailable");
+            }
+            return "{\"ok\":true}";
+        }));
+
+        assertThat(pipeline.enqueue(1)).isEqualTo(MetadataExtractionPipeline.Status.QUEUED);
+        awaitIdle();
+
+        assertThat(pipeline.stats().getRetried()).isEqualTo(2);
+        assertThat(pipeline.stats().getSucceeded()).isEqualTo(1);
+        verify(metadataRepository, times(1)).upsert(eq(1), eq("flaky"), eq("{\"ok\":true}"), any(LocalDate.class));
+    }
+
+    @Test
+    void respectsThePerExtractorConcurrencyLimit() throws InterruptedException {
+        AtomicInteger running = new AtomicInteger();
+        AtomicInteger maxRunning = new AtomicInteger();
+        pipeline = pipeline(100, 1, new TestExtractor("limited", 2, source -> {
+            maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+            Thread.sleep(20);
+            running.decrementAndGet();
+            return "{}";
+        }));
+
+        for (int contentId = 1; contentId <= 20; contentId++) {
+            pipeline.enqueue(contentId);
+        }
+        awaitIdle();
+
+        assertThat(maxRunning.get()).isEqualTo(2);
+        assertThat(pipeline.stats().getSucceeded()).isEqualTo(20);
+    }
+
+    @Test
+    void rejectsWhenTheQueueIsFull() throws InterruptedException {
+        CountDownLatch release = new CountDownLatch(1);
+        pipeline = pipeline(2, 1, new TestExtractor("blocking", 0, source -> {
+            release.await();
+            return "{}";
+        }));
+
+        assertThat(pipeline.enqueue(1)).isEqualTo(MetadataExtractionPipeline.Status.QUEUED);
+        assertThat(pipeline.enqueue(1)).isEqualTo(MetadataExtractionPipeline.Status.ALREADY_QUEUED);
+        assertThat(pipeline.enqueue(2)).isEqualTo(MetadataExtractionPipeline.Status.QUEUED);
+        assertThat(pipeline.enqueue(3)).isEqualTo(MetadataExtractionPipeline.Status.REJECTED);
+
+        release.countDown();
+        awaitIdle();
+        assertThat(pipeline.enqueue(3)).isEqualTo(MetadataExtractionPipeline.Status.QUEUED);
+        awaitIdle();
+        assertThat(pipeline.stats().getRejected()).isEqualTo(1);
+        assertThat(pipeline.stats().getSucceeded()).isEqualTo(3);
+    }
+
+    @Test
+    void sweepQueuesContentsWithoutMetadata() throws InterruptedException {
+        pipeline = pipeline(100, 1, new TestExtractor("counting", 0, source -> "{}"));
+        when(metadataRepository.findContentIdsWithoutMetadata(0, 100)).thenReturn(List.of(4, 9));
+
+        pipeline.sweep();
+        awaitIdle();
+
+        verify(metadataRepository).upsert(eq(4), eq("counting"), eq("{}"), any(LocalDate.class));
+        verify(metadataRepository).upsert(eq(9), eq("counting"), eq("{}"), any(LocalDate.class));
+    }
+
+    @Test
+    void copiesTheStoredResultOfAlreadyAnalysedMedia() throws InterruptedException {
+        AtomicInteger calls = new AtomicInteger();
+        pipeline = pipeline(100, 1, new TestExtractor("counting", 0, source -> {
+            calls.incrementAndGet();
+            return "{}";
+        }));
+        when(contentRepository.findById(anyInt()))
+                .thenAnswer(invocation -> Optional.of(content(invocation.getArgument(0), "same-media")));
+        when(metadataRepository.copyFromExtractionResult(eq(2), anyString())).thenReturn(Optional.of(20));
+
+        pipeline.enqueue(1);
+        awaitIdle();
+        pipeline.enqueue(2);
+        awaitIdle();
+
+        assertThat(calls.get()).isEqualTo(1);
+        verify(extractionResultRepository, times(1)).saveIfAbsent("same-media", "counting", "{}");
+        verify(metadataRepository, never()).upsert(eq(2), anyString(), anyString(), any(LocalDate.class));
+        assertThat(pipeline.stats().getCacheHits()).isEqualTo(1);
+        assertThat(pipeline.stats().getCacheMisses()).isEqualTo(1);
+        assertThat(pipeline.stats().getCacheHitRate()).isEqualTo(0.5);
+        assertThat(pipeline.stats().isReuseActive()).isTrue();
+    }
+
+    @Test
+    void concurrentJobsForTheSameMediaShareOneExtraction() throws InterruptedException {
+        AtomicInteger calls = new AtomicInteger();
+        CountDownLatch release = new CountDownLatch(1);
+        pipeline = pipeline(100, 1, new TestExtractor("slow", 0, source -> {
+            calls.incrementAndGet();
+            release.await();
+            return "{}";
+        }));
+        when(contentRepository.findById(anyInt()))
+                .thenAnswer(invocation -> Optional.of(content(invocation.getArgument(0), "same-media")));
+
+        for (int contentId = 1; contentId <= 10; contentId++) {
+            pipeline.enqueue(contentId);
+        }
+        Thread.sleep(100);
+        release.countDown();
+        awaitIdle();
+
+        assertThat(calls.get()).isEqualTo(1);
+        assertThat(pipeline.stats().getSucceeded()).isEqualTo(10);
+        assertThat(pipeline.stats().getCacheHits()).isEqualTo(9);
+        verify(metadataRepository, times(10)).upsert(anyInt(), eq("slow"), eq("{}"), any(LocalDate.class));
+    }
+
+    @Test
+    void resultsOfExtractorsThatReadContentFieldsAreNotReused() throws InterruptedException {
+        pipeline = pipeline(100, 1, new LocalMetadataExtractor(new ObjectMapper(), Duration.ZERO, 0));
+        when(contentRepository.findById(anyInt()))
+                .thenAnswer(invocation -> Optional.of(content(invocation.getArgument(0), "same-media")));
+
+        pipeline.enqueue(1);
+        pipeline.enqueue(2);
+        awaitIdle();
+
+        verify(metadataRepository, never()).copyFromExtractionResult(anyInt(), anyString());
+        verify(extractionResultRepository, never()).saveIfAbsent(anyString(), anyString(), anyString());
+        verify(metadataRepository, times(2)).upsert(anyInt(), eq(LocalMetadataExtractor.NAME), anyString(),
+                any(LocalDate.class));
+        assertThat(pipeline.stats().getCacheHits()).isZero();
+        assertThat(pipeline.stats().isReuseActive()).isFalse();
+    }
+
+    @Test
+    void localExtractorIsDeterministic() throws Exception {
+        LocalMetadataExtractor extractor = new LocalMetadataExtractor(new ObjectMapper(), Duration.ZERO, 0);
+        ExtractionSource source = ExtractionSource.of(content(7));
+
+        String first = extractor.extract(source);
+
+        assertThat(extractor.extract(source)).isEqualTo(first);
+        assertThat(first).contains("{\"name\":\"video\",\"confidence\":1.0}");
+        assertThat(first).contains("{\"name\":\"sunset\",\"confidence\":0.9}");
+    }
+
+    @Test
+    void probeReadsImageDimensionsFromTheHeader() throws Exception {
+        ByteBuffer png = ByteBuffer.allocate(33)
+                .put(new byte[] { (byte) 0x89, 'P', 'N', 'G', '\r', '\n', 0x1A, '\n' })
+                .putInt(13).put("IHDR".getBytes(StandardCharsets.US_ASCII))
+                .putInt(640).putInt(480);
+
+        String result = probe().probe(reader(png.array())).toString();
+
+        assertThat(result).isEqualTo("{\"source\":\"probe\",\"format\":\"png\",\"width\":640,\"height\":480,"
+                + "\"durationSeconds\":null,\"sizeBytes\":33}");
+    }
+
+    @Test
+    void probeFindsTheMoovBoxAfterTheMediaData() throws Exception {
+        // ftyp, mdat más grande que la primera lectura y moov al final (archivo sin faststart)
+        int mdatSize = 200_000;
+        ByteBuffer mp4 = ByteBuffer.allocate(16 + mdatSize + 8 + 108 + 8 + 92);
+        mp4.putInt(16).put(ascii("ftyp")).put(ascii("isom")).putInt(0);
+        mp4.putInt(mdatSize).put(ascii("mdat")).position(mp4.position() + mdatSize - 8);
+        mp4.putInt(8 + 108 + 8 + 92).put(ascii("moov"));
+        int mvhd = mp4.position();
+        mp4.putInt(108).put(ascii("mvhd")).putInt(0).putInt(0).putInt(0).putInt(1000).putInt(12_500);
+        mp4.position(mvhd + 108);
+        mp4.putInt(8 + 92).put(ascii("trak"));
+        int tkhd = mp4.position();
+        mp4.putInt(92).put(ascii("tkhd")).position(tkhd + 8 + 76);
+        mp4.putInt(1920 << 16).putInt(1080 << 16);
+
+        String result = probe().probe(reader(mp4.array())).toString();
+
+        assertThat(result).contains("\"format\":\"mp4\",\"width\":1920,\"height\":1080,\"durationSeconds\":12.5");
+    }
+
+    @Test
+    void probeOnlyReadsAllowedHosts() {
+        ExtractionSource source = ExtractionSource.of(content(7));
+
+        assertThatThrownBy(() -> probe().extract(source))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("example.com");
+    }
+
+    private MetadataExtractionPipeline pipeline(int queueCapacity, int maxAttempts, MetadataExtractor extractor) {
+        return new MetadataExtractionPipeline(List.of(extractor), contentRepository, metadataRepository,
+                extractionResultRepository, new ContentResponseCache(100, Duration.ofMinutes(1)),
+                mock(PlatformTransactionManager.class), extractor.name(), true, true, queueCapacity, 8,
+                maxAttempts, Duration.ofMillis(1));
+    }
+
+    private void awaitIdle() throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (pipeline.stats().getInFlight() > 0) {
+            assertThat(System.nanoTime()).as("pipeline idle").isLessThan(deadline);
+            Thread.sleep(5);
+        }
+    }
+
+    private static Content content(Integer contentId) {
+        return content(contentId, null);
+    }
+
+    private static Content content(Integer contentId, String fingerprint) {
+        return Content.builder()
+                .contentId(contentId)
+                .contentType(ContentType.VIDEO)
+                .format("mp4")
+                .language("es")
+                .title("Sunset over the sea")
+                .description("A sunset timelapse")
+                .fileSizeMB(10)
+                .storageUrl("https://example.com/" + contentId + ".mp4")
+                .thumbnailUrl("https://example.com/" + contentId + ".jpg")
+                .fingerprint(fingerprint)
+                .build();
+    }
+
+    private static MediaProbeExtractor probe() {
+        return new MediaProbeExtractor(new ObjectMapper(), "cdn.mediaflow.test", 1 << 20, Duration.ofSeconds(1), 0);
+    }
+
+    private static byte[] ascii(String text) {
+        return text.getBytes(StandardCharsets.US_ASCII);
+    }
+
+    // Medio en memoria: el tamaño total se conoce desde la primera lectura
+    private static MediaProbeExtractor.RangeReader reader(byte[] media) {
+        return new MediaProbeExtractor.RangeReader() {
+            @Override
+            public byte[] read(long offset, int length) {
+                int from = (int) Math.min(offset, media.length);
+                return Arrays.copyOfRange(media, from, (int) Math.min(media.length, (long) from + length));
+            }
+
+            @Override
+            public Long size() {
+                return (long) media.length;
+            }
+        };
+    }
+
+    @FunctionalInterface
+    private interface Extraction {
+        String apply(ExtractionSource source) throws Exception;
+    }
+
+    private record TestExtractor(String name, int maxConcurrency, Extraction extraction) implements MetadataExtractor {
+
+        @Override
+        public boolean supports(ContentType contentType) {
+            return true;
+        }
+
+        @Override
+        public boolean mediaDeterministic() {
+            return true;
+        }
+
+        @Override
+        public String extract(ExtractionSource source) throws Exception {
+            return extraction.apply(source);
+        }
+    }
+}
@@ -0,0 +1,115 @@
+package com.mediaflow.api.graphql;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.graphql.GraphQlTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.graphql.test.tester.GraphQlTester;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+
+import com.mediaflow.api.cache.GraphQlDocumentCache;
+import com.mediaflow.api.configuration.GraphQLConfig;
+import com.mediaflow.api.dto.CategoryResponse;
+import com.mediaflow.api.dto.ContentResponse;
+import com.mediaflow.api.repository.ContentRepository;
+import com.mediaflow.api.service.AuthenticationService;
+import com.mediaflow.api.service.ContentBulkService;
+import com.mediaflow.api.service.ContentService;
+import com.mediaflow.api.service.MetadataService;
+
+/**
+ * El COUNT de allContents solo se ejecuta si la consulta pide totalElements o totalPages, y las
+ * categorías se cargan por lotes solo si se seleccionan.
+ */
+@GraphQlTest(ContentGraphQLController.class)
+@Import({ GraphQLConfig.class, GraphQlDocumentCache.class })
+class ContentGraphQLControllerTest {
+
+    private static final Pageable FIRST_PAGE = PageRequest.of(0, 2);
+
+    @Autowired
+    private GraphQlTester graphQlTester;
+
+    @MockitoBean
+    private ContentService contentService;
+
+    @MockitoBean
+    private ContentBulkService contentBulkService;
+
+    @MockitoBean
+    private AuthenticationService authenticationService;
+
+    @MockitoBean
+    private ContentRepository contentRepository;
+
+    @MockitoBean
+    private MetadataService metadataService;
+
+    private final List<ContentResponse> contents = List.of(content(1, "first"), content(2, "second"));
+
+    @Test
+    void offsetPageWithoutTotalsSkipsTheCount() {
+        when(contentService.findSlice(isNull(), isNull(), eq(FIRST_PAGE), eq(false)))
+                .thenReturn(new SliceImpl<>(contents, FIRST_PAGE, true));
+
+        graphQlTester.document("{ allContents(size: 2) { content { contentId title } hasNext pageNumber } }")
+                .execute()
+                .path("allContents.content[*].title").entityList(String.class).containsExactly("first", "second")
+                .path("allContents.hasNext").entity(Boolean.class).isEqualTo(true)
+                .path("allContents.pageNumber").entity(Integer.class).isEqualTo(0);
+
+        verify(contentService, never()).findAll(any(Pageable.class), anyBoolean());
+        verify(contentService, never()).estimateTotal();
+        verify(contentService, never()).findCategories(any());
+    }
+
+    @Test
+    void offsetPageWithTotalsRunsTheCount() {
+        when(contentService.findAll(FIRST_PAGE, false)).thenReturn(new PageImpl<>(contents, FIRST_PAGE, 5));
+
+        graphQlTester.document("{ allContents(size: 2) { content { contentId } totalElements totalPages } }")
+                .execute()
+                .path("allContents.totalElements").entity(Long.class).isEqualTo(5L)
+                .path("allContents.totalPages").entity(Integer.class).isEqualTo(3);
+
+        verify(contentService).findAll(FIRST_PAGE, false);
+        verify(contentService, never()).findSlice(any(), any(), any(), anyBoolean());
+    }
+
+    @Test
+    void selectedCategoriesAreLoadedOncePerPage() {
+        when(contentService.findSlice(isNull(), isNull(), eq(FIRST_PAGE), eq(false)))
+                .thenReturn(new SliceImpl<>(contents, FIRST_PAGE, false));
+        when(contentService.findCategories(any())).thenReturn(Map.of(1, List.of(
+                CategoryResponse.builder().categoryId(7).name("music").description("music").build())));
+
+        graphQlTester.document("{ allContents(size: 2) { content { contentId categories { name } } } }")
+                .execute()
+                .path("allContents.content[0].categories[*].name").entityList(String.class).containsExactly("music")
+                .path("allContents.content[1].categories").entityList(Object.class).hasSize(0);
+
+        verify(contentService).findCategories(any());
+    }
+
+    private static ContentResponse content(int contentId, String title) {
+        return ContentResponse.builder()
+                .contentId(contentId)
+                .title(title)
+                .build();
+    }
+}
@@ -0,0 +1,125 @@
+package com.mediaflow.api.repository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.function.Supplier;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.mediaflow.api.dto.ContentResponse;
+import com.mediaflow.api.model.Category;
+import com.mediaflow.api.model.Content;
+import com.mediaflow.api.model.ContentType;
+import com.mediaflow.api.model.Video;
+import com.mediaflow.api.service.ContentService;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+
+/**
+ * Verifica que los listados de ContentService (los que usan los endpoints) cargan una página con
+ * un número fijo de sentencias, sin importar su tamaño (sin N+1 sobre video, imagen o categorías).
+ */
+@SpringBootTest
+@Transactional
+@TestPropertySource(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+class ContentRepositoryStatementCountTest {
+
+    private static final int CONTENTS = 30;
+
+    @Autowired
+    private ContentRepository contentRepository;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private ContentService contentService;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        Category category = categoryRepository.save(Category.builder()
+                .name("statement-count")
+                .descrition("statement-count test category")
+                .build());
+
+        for (int i = 0; i < CONTENTS; i++) {
+            Content content = contentRepository.saveAndFlush(Content.builder()
+                    .format("mp4")
+                    .fileSizeMB(10)
+                    .language("es")
+                    .title("Statement count " + i)
+                    .contentType(ContentType.VIDEO)
+                    .storageUrl("https://storage.example.com/" + i)
+                    .thumbnailUrl("https://storage.example.com/" + i + ".jpg")
+                    .created(LocalDateTime.now().minusMinutes(i))
+                    .userId(-1)
+                    .video(Video.builder().durationSeconds(60).width(1920).height(1080).build())
+                    .build());
+            categoryRepository.linkContent(content.getContentId(), List.of(category.getCategoryId()));
+        }
+
+        entityManager.flush();
+        entityManager.clear();
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    @Test
+    void findAllUsesFixedNumberOfStatements() {
+        long small = statementsFor(() -> contentService.findAll(PageRequest.of(0, 5)).getContent(), 5);
+        long large = statementsFor(() -> contentService.findAll(PageRequest.of(0, 20)).getContent(), 20);
+
+        // proyección + count + categorías de la página
+        assertThat(small).isLessThanOrEqualTo(3);
+        assertThat(large).isEqualTo(small);
+    }
+
+    @Test
+    void findSliceUsesFixedNumberOfStatements() {
+        long small = statementsFor(() -> contentService.findSlice(-1, null, PageRequest.of(0, 5)).getContent(), 5);
+        long large = statementsFor(() -> contentService.findSlice(-1, null, PageRequest.of(0, 20)).getContent(), 20);
+
+        // proyección + categorías de la página (sin count)
+        assertThat(small).isLessThanOrEqualTo(2);
+        assertThat(large).isEqualTo(small);
+    }
+
+    @Test
+    void findKeysetUsesFixedNumberOfStatements() {
+        long small = statementsFor(() -> contentService.findKeyset(-1, null, null, 5).getContent(), 5);
+        long large = statementsFor(() -> contentService.findKeyset(-1, null, null, 20).getContent(), 20);
+
+        // proyección + categorías de la página (sin count)
+        assertThat(small).isLessThanOrEqualTo(2);
+        assertThat(large).isEqualTo(small);
+    }
+
+    private long statementsFor(Supplier<List<ContentResponse>> listing, int size) {
+        entityManager.clear();
+        statistics.clear();
+
+        List<ContentResponse> contents = listing.get();
+
+        assertThat(contents).hasSize(size);
+        assertThat(contents).allSatisfy(content -> assertThat(content.getCategories()).hasSize(1));
+        return statistics.getPrepareStatementCount();
+    }
+}
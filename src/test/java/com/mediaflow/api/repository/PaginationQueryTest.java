@@ -0,0 +1,104 @@
+package com.mediaflow.api.repository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Properties;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+
+/**
+ * Regresión: ninguna consulta paginada puede hacer JOIN FETCH (o @EntityGraph) de una colección,
+ * porque Hibernate la paginaría en memoria (HHH90003004).
+ */
+class PaginationQueryTest {
+
+    private static final Pattern FETCH_JOIN = Pattern.compile("JOIN\\s+FETCH\\s+\\w+\\.(\\w+)",
+            Pattern.CASE_INSENSITIVE);
+
+    private static final List<Class<?>> REPOSITORIES = List.of(
+            CategoryRepository.class,
+            ContentRepository.class,
+            ImageRepository.class,
+            MetadataRepository.class,
+            PlayListRepository.class,
+            VideoRepository.class);
+
+    @Test
+    void paginatedQueriesDoNotFetchJoinCollections() {
+        List<String> offenders = new ArrayList<>();
+
+        for (Class<?> repository : REPOSITORIES) {
+            Class<?> entity = entityOf(repository);
+            for (Method method : repository.getDeclaredMethods()) {
+                boolean paginated = Arrays.stream(method.getParameterTypes()).anyMatch(Pageable.class::isAssignableFrom);
+                if (!paginated) {
+                    continue;
+                }
+                Query query = method.getAnnotation(Query.class);
+                if (query != null) {
+                    Matcher matcher = FETCH_JOIN.matcher(query.value());
+                    while (matcher.find()) {
+                        if (isCollection(entity, matcher.group(1))) {
+                            offenders.add(repository.getSimpleName() + "." + method.getName() + " -> " + matcher.group());
+                        }
+                    }
+                }
+                EntityGraph graph = method.getAnnotation(EntityGraph.class);
+                if (graph != null) {
+                    for (String path : graph.attributePaths()) {
+                        if (isCollection(entity, path.split("\\.")[0])) {
+                            offenders.add(repository.getSimpleName() + "." + method.getName() + " -> @EntityGraph " + path);
+                        }
+                    }
+                }
+            }
+        }
+
+        assertThat(offenders).isEmpty();
+    }
+
+    @Test
+    void hibernateFailsOnPaginationOverCollectionFetch() throws IOException {
+        Properties properties = new Properties();
+        try (InputStream in = getClass().getResourceAsStream("/application.properties")) {
+            properties.load(in);
+        }
+
+        assertThat(properties.getProperty("spring.jpa.properties.hibernate.query.fail_on_pagination_over_collection_fetch"))
+                .isEqualTo("true");
+    }
+
+    private static Class<?> entityOf(Class<?> repository) {
+        for (Type type : repository.getGenericInterfaces()) {
+            if (type instanceof ParameterizedType parameterized && parameterized.getRawType() == JpaRepository.class) {
+                return (Class<?>) parameterized.getActualTypeArguments()[0];
+            }
+        }
+        throw new IllegalStateException("Not a JpaRepository: " + repository);
+    }
+
+    private static boolean isCollection(Class<?> entity, String property) {
+        try {
+            Field field = entity.getDeclaredField(property);
+            return Collection.class.isAssignableFrom(field.getType());
+        } catch (NoSuchFieldException ex) {
+            return false;
+        }
+    }
+}
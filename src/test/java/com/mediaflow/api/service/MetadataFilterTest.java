@@ -0,0 +1,62 @@
+package com.mediaflow.api.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import org.junit.jupiter.api.Test;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mediaflow.api.exception.BadRequestException;
+
+/**
+ * Traducción del lenguaje de filtros de metadata a contención jsonb y jsonpath.
+ */
+class MetadataFilterTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Test
+    void equalitiesBecomeOneContainmentDocument() {
+        MetadataFilter filter = MetadataFilter.parse("source = \"local\" AND video.codec = \"h264\"", objectMapper);
+
+        assertThat(filter.containment()).isEqualTo("{\"source\":\"local\",\"video\":{\"codec\":\"h264\"}}");
+        assertThat(filter.predicate()).isEqualTo("true");
+    }
+
+    @Test
+    void elementMatchKeepsConditionsOnTheSameArrayElement() {
+        MetadataFilter filter = MetadataFilter.parse("tags[name = \"cat\" AND confidence > 0.8]", objectMapper);
+
+        assertThat(filter.containment()).isEqualTo("{\"tags\":[{\"name\":\"cat\"}]}");
+        assertThat(filter.predicate())
+                .isEqualTo("exists($.\"tags\"[*] ? (@.\"name\" == \"cat\" && @.\"confidence\" > 0.8))");
+    }
+
+    @Test
+    void comparisonsBecomeJsonPathPredicates() {
+        MetadataFilter filter = MetadataFilter.parse("width >= 1920 and format != \"gif\"", objectMapper);
+
+        assertThat(filter.containment()).isEqualTo("{}");
+        assertThat(filter.predicate())
+                .isEqualTo("exists($.\"width\" ? (@ >= 1920)) && exists($.\"format\" ? (@ != \"gif\"))");
+    }
+
+    @Test
+    void stringValuesAreEscaped() {
+        MetadataFilter filter = MetadataFilter.parse("caption != \"a\\\" || true\"", objectMapper);
+
+        assertThat(filter.predicate()).isEqualTo("exists($.\"caption\" ? (@ != \"a\\\" || true\"))");
+    }
+
+    @Test
+    void rejectsMalformedFilters() {
+        assertThatThrownBy(() -> MetadataFilter.parse("tags[name = \"cat\"", objectMapper))
+                .isInstanceOf(BadRequestException.class);
+        assertThatThrownBy(() -> MetadataFilter.parse("name ~ \"cat\"", objectMapper))
+                .isInstanceOf(BadRequestException.class);
+        assertThatThrownBy(() -> MetadataFilter.parse("$.name = 1", objectMapper))
+                .isInstanceOf(BadRequestException.class);
+        assertThatThrownBy(() -> MetadataFilter.parse(" ", objectMapper))
+                .isInstanceOf(BadRequestException.class);
+    }
+}
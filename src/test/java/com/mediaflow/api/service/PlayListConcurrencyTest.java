@@ -0,0 +1,143 @@
+package com.mediaflow.api.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.test.context.bean.override.mockito.MockitoSpyBean;
+
+import com.mediaflow.api.model.Content;
+import com.mediaflow.api.model.ContentType;
+import com.mediaflow.api.model.PlayList;
+import com.mediaflow.api.model.PlayListItem;
+import com.mediaflow.api.model.Video;
+import com.mediaflow.api.repository.ContentRepository;
+import com.mediaflow.api.repository.PlayListItemRepository;
+import com.mediaflow.api.repository.PlayListRepository;
+
+/**
+ * Escrituras concurrentes sobre una misma playlist desde 32 hilos: no se pierde ningún
+ * contenido, las posiciones no se repiten y cada operación toma el bloqueo de la playlist una
+ * sola vez. El throughput no se mide aquí: depende de la máquina.
+ */
+@SpringBootTest
+class PlayListConcurrencyTest {
+
+    private static final int THREADS = 32;
+    private static final int ADDS_PER_THREAD = 25;
+
+    @Autowired
+    private PlayListService playListService;
+
+    @MockitoSpyBean
+    private PlayListRepository playListRepository;
+
+    @Autowired
+    private PlayListItemRepository playListItemRepository;
+
+    @Autowired
+    private ContentRepository contentRepository;
+
+    private Integer playlistId;
+    private List<Integer> contentIds;
+
+    @BeforeEach
+    void setUp() {
+        playlistId = playListRepository.save(PlayList.builder()
+                .title("concurrency")
+                .description("concurrency test playlist")
+                .isPublic(false)
+                .createdAt(LocalDate.now())
+                .userId(-1)
+                .build()).getPlayListId();
+
+        List<Content> contents = new ArrayList<>();
+        for (int i = 0; i < THREADS * ADDS_PER_THREAD; i++) {
+            contents.add(Content.builder()
+                    .format("mp4")
+                    .fileSizeMB(10)
+                    .language("es")
+                    .title("Concurrency " + i)
+                    .contentType(ContentType.VIDEO)
+                    .storageUrl("https://storage.example.com/concurrency/" + i)
+                    .thumbnailUrl("https://storage.example.com/concurrency/" + i + ".jpg")
+                    .created(LocalDateTime.now())
+                    .userId(-1)
+                    .video(Video.builder().durationSeconds(60).width(1920).height(1080).build())
+                    .build());
+        }
+        contentIds = contentRepository.saveAll(contents).stream()
+                .map(Content::getContentId)
+                .collect(Collectors.toList());
+    }
+
+    @AfterEach
+    void tearDown() {
+        playListService.delete(playlistId);
+        contentRepository.deleteAllById(contentIds);
+    }
+
+    @Test
+    void concurrentWritesKeepEveryMembership() throws Exception {
+        ExecutorService pool = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<Integer>> futures = new ArrayList<>();
+
+        for (int t = 0; t < THREADS; t++) {
+            List<Integer> own = contentIds.subList(t * ADDS_PER_THREAD, (t + 1) * ADDS_PER_THREAD);
+            futures.add(pool.submit(() -> {
+                start.await();
+                int operations = 0;
+                for (int i = 0; i < own.size(); i++) {
+                    // Mezcla de agregados al final, inserciones en medio y movimientos al inicio
+                    Integer after = i % 3 == 2 ? own.get(i - 1) : null;
+                    playListService.addContentToPlaylist(playlistId, own.get(i), after);
+                    operations++;
+                    if (i % 5 == 4) {
+                        playListService.moveContent(playlistId, own.get(i), null);
+                        operations++;
+                    }
+                }
+                return operations;
+            }));
+        }
+
+        start.countDown();
+        int operations = 0;
+        for (Future<Integer> future : futures) {
+            operations += future.get(2, TimeUnit.MINUTES);
+        }
+        pool.shutdown();
+
+        List<PlayListItem> items = playListItemRepository.findKeyset(playlistId, Long.MIN_VALUE, Integer.MIN_VALUE,
+                PageRequest.ofSize(contentIds.size() + 1));
+        Set<Long> positions = items.stream().map(PlayListItem::getPosition).collect(Collectors.toSet());
+
+        assertThat(items).hasSize(contentIds.size());
+        assertThat(items.stream().map(PlayListItem::getContentId).collect(Collectors.toSet()))
+                .isEqualTo(new HashSet<>(contentIds));
+        assertThat(positions).hasSize(contentIds.size());
+        assertThat(playListService.findStats(List.of(playlistId)).get(0).getItemCount())
+                .isEqualTo(contentIds.size());
+        verify(playListRepository, times(operations)).findByIdForUpdate(playlistId);
+    }
+}